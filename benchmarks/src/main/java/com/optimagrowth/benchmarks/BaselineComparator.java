@@ -0,0 +1,115 @@
+package com.optimagrowth.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compares JMH JSON results with the committed baseline and exits with status 1 when a benchmark regressed:
+ * its score is worse by more than the threshold (slower for the average time modes, fewer operations for the
+ * throughput modes), or it allocates more than the threshold per operation (gc.alloc.rate.norm).
+ * <p>
+ * Usage: BaselineComparator [baseline.json] [result.json] [threshold], by default
+ * benchmarks/baseline/jmh-baseline.json, jmh-result.json and 0.10 (10%).
+ * The baseline is only meaningful on the machine it was recorded on; record a new one with the same JVM and
+ * benchmark options before comparing on another machine.
+ */
+public class BaselineComparator {
+
+    private static final String DEFAULT_BASELINE = "benchmarks/baseline/jmh-baseline.json";
+    private static final double DEFAULT_THRESHOLD = 0.10;
+    private static final String ALLOCATION_RATE = "gc.alloc.rate.norm";
+
+    /**
+     * Below this difference in bytes per operation, allocation changes are noise (TLAB sampling, alignment).
+     */
+    private static final double ALLOCATION_NOISE = 16;
+
+    private record Result(String mode, double score, String unit, Double allocation) {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        String baselineFile = args.length > 0 ? args[0] : DEFAULT_BASELINE;
+        String resultFile = args.length > 1 ? args[1] : BenchmarkRunner.DEFAULT_RESULT;
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        Map<String, Result> baseline = read(new File(baselineFile));
+        Map<String, Result> results = read(new File(resultFile));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %14s %14s %8s %12s %12s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Base B/op", "Curr B/op");
+
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result current = entry.getValue();
+            Result previous = baseline.get(entry.getKey());
+            if (previous == null || !previous.mode().equals(current.mode())) {
+                System.out.printf("%-90s %14s %14.3f %8s%n", entry.getKey(), "-", current.score(), "new");
+                continue;
+            }
+
+            // Relative change of the score, positive when it got worse
+            double change = current.mode().equals("thrpt")
+                    ? (previous.score() - current.score()) / previous.score()
+                    : (current.score() - previous.score()) / previous.score();
+
+            boolean slower = change > threshold;
+            boolean allocatesMore = previous.allocation() != null && current.allocation() != null
+                    && current.allocation() - previous.allocation() > ALLOCATION_NOISE
+                    && current.allocation() > previous.allocation() * (1 + threshold);
+
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %12s %12s %s%n",
+                    entry.getKey(), previous.score(), current.score(), change * 100,
+                    format(previous.allocation()), format(current.allocation()),
+                    slower || allocatesMore ? "REGRESSION" : "");
+
+            if (slower) regressions.add(entry.getKey() + " score");
+            if (allocatesMore) regressions.add(entry.getKey() + " allocation");
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d regression(s) above %.0f%%:%n", regressions.size(), threshold * 100);
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+        System.out.printf("%nNo regression above %.0f%%%n", threshold * 100);
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode primaryMetric = run.path("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_RATE).path("score");
+
+            results.put(key(run), new Result(
+                    run.path("mode").asText(),
+                    primaryMetric.path("score").asDouble(),
+                    primaryMetric.path("scoreUnit").asText(),
+                    allocation.isNumber() ? allocation.asDouble() : null));
+        }
+
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+
+        Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+
+        String benchmark = run.path("benchmark").asText().replace(BaselineComparator.class.getPackageName() + ".", "");
+
+        return params.isEmpty() ? benchmark : benchmark + params.entrySet().stream()
+                .map(param -> param.getKey() + "=" + param.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String format(Double allocation) {
+        return allocation == null ? "-" : String.format("%.1f", allocation);
+    }
+}
@@ -0,0 +1,80 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import com.optimagrowth.commonlibrary.core.component.Translator;
+import com.optimagrowth.commonlibrary.core.exception.StackTraceCapture;
+import com.optimagrowth.commonlibrary.core.i18n.PrecompiledMessageSource;
+import com.optimagrowth.license.component.LicenseLinkRegistry;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal application context holding the beans of the i18n and error paths, wired as in the licensing service
+ * but without web server, Mongo or config server.
+ */
+final class BenchmarkContext {
+
+    static final String PRECOMPILED = "precompiled";
+    static final String RESOURCE_BUNDLE = "resource-bundle";
+
+    private static final List<Locale> LOCALES = List.of(Locale.ENGLISH, Locale.FRENCH, Locale.of("es"));
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext start() {
+        return start(PRECOMPILED, Map.of());
+    }
+
+    /**
+     * @param messageSourceType {@link #PRECOMPILED} (the service one) or {@link #RESOURCE_BUNDLE} (the former one, reloaded every 5 seconds).
+     * @param properties The properties overriding the defaults of the licensing service.
+     */
+    static AnnotationConfigApplicationContext start(String messageSourceType, Map<String, Object> properties) {
+
+        Map<String, Object> environment = new HashMap<>(Map.of(
+                "spring.application.name", "licensing-service",
+                "server.port", "8081"));
+        environment.putAll(properties);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", environment));
+
+        context.registerBean("messageSource", MessageSource.class, () -> messageSource(messageSourceType));
+        context.registerBean(Translator.class);
+        context.registerBean(StackTraceCapture.class);
+        context.registerBean(ProblemBuilder.class);
+        context.registerBean(LicenseLinkRegistry.class);
+        context.refresh();
+
+        return context;
+    }
+
+    private static MessageSource messageSource(String messageSourceType) {
+
+        if (RESOURCE_BUNDLE.equals(messageSourceType)) {
+            ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+            resourceBundleMessageSource.setUseCodeAsDefaultMessage(true);
+            resourceBundleMessageSource.setAlwaysUseMessageFormat(true);
+            resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+            resourceBundleMessageSource.setBasename("messages");
+            resourceBundleMessageSource.setCacheSeconds(5);
+
+            return resourceBundleMessageSource;
+        }
+
+        PrecompiledMessageSource precompiledMessageSource = new PrecompiledMessageSource("messages", LOCALES);
+        precompiledMessageSource.setUseCodeAsDefaultMessage(true);
+
+        return precompiledMessageSource;
+    }
+}
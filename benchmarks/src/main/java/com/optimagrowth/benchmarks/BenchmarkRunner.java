@@ -0,0 +1,45 @@
+package com.optimagrowth.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Main class of benchmarks.jar: runs the JMH benchmarks selected by the usual JMH command line options
+ * (eg: java -jar benchmarks.jar Translator -p locale=fr) with the GC profiler, so that the allocation rate per
+ * operation (gc.alloc.rate.norm) is reported next to the time, and writes the results as JSON to jmh-result.json
+ * unless -rf/-rff say otherwise. The results can then be compared with the committed baseline using
+ * {@link BaselineComparator}.
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT = "jmh-result.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        if (commandLineOptions.getProfilers().stream().noneMatch(profiler -> profiler.getKlass().equals("gc"))) {
+            optionsBuilder.addProfiler(GCProfiler.class);
+        }
+        Options options = optionsBuilder
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT))
+                .build();
+
+        new Runner(options).run();
+    }
+}
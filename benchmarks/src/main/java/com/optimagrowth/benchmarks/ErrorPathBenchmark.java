@@ -0,0 +1,64 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+/**
+ * The 404 of an unknown license and the 400 of an invalid cursor, from the exception raised by the service to the
+ * problem detail of the exception handler, without and with the stack trace capture.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"never", "always"})
+    private String stackTraceCapture;
+
+    private AnnotationConfigApplicationContext context;
+    private ProblemBuilder problemBuilder;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(BenchmarkContext.PRECOMPILED,
+                Map.of("exception.stack-trace.capture", stackTraceCapture));
+        problemBuilder = context.getBean(ProblemBuilder.class);
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+        context.close();
+    }
+
+    @Benchmark
+    public ProblemDetail licenseNotFound() {
+        LicenseNotFoundException exception = new LicenseNotFoundException(translate(
+                "exception.license.not.found.with.id", LicenseFixtures.LICENSE_ID, LicenseFixtures.ORGANIZATION_ID));
+
+        return problemBuilder.buildGenericProblemDetail(exception.getLocalizedMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public ProblemDetail invalidCursor() {
+        InvalidCursorException exception = new InvalidCursorException(translate("exception.license.cursor.invalid", "not-a-cursor"));
+
+        return problemBuilder.buildGenericProblemDetail(exception.getLocalizedMessage(), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,131 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.license.codec.LicenseCodec;
+import com.optimagrowth.license.codec.LicenseConverters;
+import com.optimagrowth.license.model.License;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a license to BSON and reading it back, the way the repositories do it:
+ * through the reflective Spring Data mapping (the default), through the hand-written LicenseConverters
+ * registered as custom conversions, and straight from and to BSON with the LicenseCodec.
+ * The three must produce the same document, which is checked at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseCodecBenchmark {
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final LicenseCodec licenseCodec = new LicenseCodec();
+
+    private MappingMongoConverter reflectiveConverter;
+    private MappingMongoConverter licenseConverter;
+    private License license;
+    private byte[] bson;
+
+    @Setup
+    public void setUp() {
+        reflectiveConverter = mappingMongoConverter(new MongoCustomConversions(List.of()));
+        licenseConverter = mappingMongoConverter(new MongoCustomConversions(LicenseConverters.all()));
+        license = LicenseFixtures.license();
+        bson = writeReflective();
+
+        if (!Arrays.equals(bson, writeConverter()) || !Arrays.equals(bson, writeCodec())) {
+            throw new IllegalStateException("The License converters and codec do not write the documents of the mapping");
+        }
+        if (!Arrays.equals(bson, encode(readCodec())) || !Arrays.equals(bson, encode(readConverter()))) {
+            throw new IllegalStateException("The License converters and codec do not read back the documents of the mapping");
+        }
+    }
+
+    @Benchmark
+    public byte[] writeReflective() {
+        return encode(reflectiveConverter, license);
+    }
+
+    @Benchmark
+    public byte[] writeConverter() {
+        return encode(licenseConverter, license);
+    }
+
+    @Benchmark
+    public byte[] writeCodec() {
+        return encode(license);
+    }
+
+    @Benchmark
+    public License readReflective() {
+        return reflectiveConverter.read(License.class, decode());
+    }
+
+    @Benchmark
+    public License readConverter() {
+        return licenseConverter.read(License.class, decode());
+    }
+
+    @Benchmark
+    public License readCodec() {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            return licenseCodec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+
+    private byte[] encode(MappingMongoConverter converter, License license) {
+        Document document = new Document();
+        converter.write(license, document);
+
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            documentCodec.encode(writer, document, EncoderContext.builder().build());
+        }
+
+        return buffer.toByteArray();
+    }
+
+    private byte[] encode(License license) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            licenseCodec.encode(writer, license, EncoderContext.builder().build());
+        }
+
+        return buffer.toByteArray();
+    }
+
+    private Document decode() {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            return documentCodec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+
+    private static MappingMongoConverter mappingMongoConverter(MongoCustomConversions mongoCustomConversions) {
+        MongoMappingContext mongoMappingContext = new MongoMappingContext();
+        mongoMappingContext.setSimpleTypeHolder(mongoCustomConversions.getSimpleTypeHolder());
+        mongoMappingContext.afterPropertiesSet();
+
+        MappingMongoConverter mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mongoMappingContext);
+        mappingMongoConverter.setCustomConversions(mongoCustomConversions);
+        mappingMongoConverter.afterPropertiesSet();
+
+        return mappingMongoConverter;
+    }
+}
@@ -0,0 +1,80 @@
+package com.optimagrowth.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.model.License;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Representative license documents and requests shared by the benchmarks.
+ */
+final class LicenseFixtures {
+
+    static final String ORGANIZATION_ID = "e6a625cc-718b-48c2-ac76-1dfdff9a531e";
+    static final String LICENSE_ID = "f2a9c9d4-a5e7-4ab3-9f3f-2b3c0f6d1a8e";
+    static final String BASE_URI = "http://localhost:8081";
+
+    private LicenseFixtures() {
+    }
+
+    static License license() {
+        License license = License.builder()
+                .licenseId(LICENSE_ID)
+                .description("Software product license")
+                .organizationId(ORGANIZATION_ID)
+                .productName("Ostock")
+                .licenseType(LicenseType.FULL)
+                .comment("Renewed for one year")
+                .build();
+        license.setId("65f1c0a2b7e4d93a1c2f8e41");
+        license.setCreateAt(LocalDateTime.of(2024, 3, 13, 9, 30));
+        license.setUpdateAt(LocalDateTime.of(2024, 6, 2, 17, 5));
+        license.setVersion(3L);
+
+        return license;
+    }
+
+    static GetLicenseResponse getLicenseResponse() {
+        return GetLicenseResponse.builder()
+                .id("65f1c0a2b7e4d93a1c2f8e41")
+                .licenseId(LICENSE_ID)
+                .description("Software product license")
+                .organizationId(ORGANIZATION_ID)
+                .productName("Ostock")
+                .licenseType(LicenseType.FULL)
+                .comment("Renewed for one year")
+                .version(3L)
+                .build();
+    }
+
+    static CreateLicenseRequest createLicenseRequest() {
+        return new CreateLicenseRequest(
+                LICENSE_ID, "Software product license", "Ostock", LicenseType.FULL, "Renewed for one year");
+    }
+
+    /**
+     * @return A patch of two top level fields, the common case compiled into $set/$unset changes.
+     */
+    static JsonPatch fieldPatch(ObjectMapper objectMapper) {
+        return jsonPatch(objectMapper, """
+                [
+                  {"op": "replace", "path": "/description", "value": "Software product license, renewed"},
+                  {"op": "remove", "path": "/comment"}
+                ]
+                """);
+    }
+
+    static JsonPatch jsonPatch(ObjectMapper objectMapper, String json) {
+        try {
+            return objectMapper.readValue(json, JsonPatch.class);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
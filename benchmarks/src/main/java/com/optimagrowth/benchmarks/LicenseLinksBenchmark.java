@@ -0,0 +1,79 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.license.component.LicenseLinkRegistry;
+import com.optimagrowth.license.controller.command.LicenseCommandController;
+import com.optimagrowth.license.controller.query.LicenseQueryController;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Links of a license response built from the precomputed templates of {@link LicenseLinkRegistry},
+ * and with the methodOn proxies it replaced, both against the current request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseLinksBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private LicenseLinkRegistry licenseLinkRegistry;
+    private GetLicenseResponse licenseResponse;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        licenseLinkRegistry = context.getBean(LicenseLinkRegistry.class);
+        licenseResponse = LicenseFixtures.getLicenseResponse();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/organization/" + LicenseFixtures.ORGANIZATION_ID + "/license/" + LicenseFixtures.LICENSE_ID);
+        request.setServerPort(8081);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Link> linkRegistry() {
+        return licenseLinkRegistry.licenseLinks(LicenseFixtures.LICENSE_ID, LicenseFixtures.ORGANIZATION_ID);
+    }
+
+    @Benchmark
+    public List<Link> methodOnProxies() {
+        String licenseId = LicenseFixtures.LICENSE_ID;
+        String organizationId = LicenseFixtures.ORGANIZATION_ID;
+
+        return List.of(
+                linkTo(methodOn(LicenseQueryController.class).retrieveLicense(licenseId, organizationId, null)).withSelfRel(),
+                linkTo(methodOn(LicenseCommandController.class).createLicense(
+                        new CreateLicenseRequest(licenseId, licenseResponse.getDescription(), licenseResponse.getProductName(),
+                                licenseResponse.getLicenseType(), licenseResponse.getComment()),
+                        organizationId)).withRel(translate("link.create.license")),
+                linkTo(methodOn(LicenseCommandController.class).deleteLicense(licenseId, organizationId, null))
+                        .withRel(translate("link.delete.license")));
+    }
+}
@@ -0,0 +1,52 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.mapper.LicenseMapper;
+import com.optimagrowth.license.model.License;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseMapperBenchmark {
+
+    private LicenseMapper licenseMapper;
+    private License license;
+    private CreateLicenseRequest createLicenseRequest;
+
+    @Setup
+    public void setUp() {
+        licenseMapper = Mappers.getMapper(LicenseMapper.class);
+        license = LicenseFixtures.license();
+        createLicenseRequest = LicenseFixtures.createLicenseRequest();
+    }
+
+    @Benchmark
+    public GetLicenseResponse mapToGetLicenseResponse() {
+        return licenseMapper.mapToGetLicenseResponse(license);
+    }
+
+    @Benchmark
+    public CreateLicenseResponse mapToCreateLicenseResponse() {
+        return licenseMapper.mapToCreateLicenseResponse(license);
+    }
+
+    @Benchmark
+    public UpdateLicenseResponse mapToUpdateLicenseResponse() {
+        return licenseMapper.mapToUpdateLicenseResponse(license);
+    }
+
+    @Benchmark
+    public License mapToLicense() {
+        return licenseMapper.mapToLicense(createLicenseRequest);
+    }
+}
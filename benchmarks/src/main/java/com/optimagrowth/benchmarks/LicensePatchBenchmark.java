@@ -0,0 +1,58 @@
+package com.optimagrowth.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.optimagrowth.license.component.LicensePatchCompiler;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseChanges;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two ways a JSON Patch is applied to a license: compiled into $set/$unset changes (the common case),
+ * and applied to the whole document (the fallback of the patches that cannot be compiled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicensePatchBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private LicensePatchCompiler licensePatchCompiler;
+    private JsonPatch jsonPatch;
+    private License license;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        licensePatchCompiler = new LicensePatchCompiler(validatorFactory.getValidator(), objectMapper);
+        jsonPatch = LicenseFixtures.fieldPatch(objectMapper);
+        license = LicenseFixtures.license();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Optional<LicenseChanges> compile() throws JsonProcessingException {
+        return licensePatchCompiler.compile(jsonPatch);
+    }
+
+    @Benchmark
+    public License applyToLicense() throws JsonPatchException, JsonProcessingException {
+        return licensePatchCompiler.applyToLicense(jsonPatch, license);
+    }
+}
@@ -0,0 +1,62 @@
+package com.optimagrowth.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.optimagrowth.commonlibrary.core.common.GenericResponse;
+import com.optimagrowth.license.component.LicenseLinkRegistry;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the body of GET /organization/{organizationId}/license/{licenseId},
+ * rendered as HAL like the application/json responses of the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseResponseSerializationBenchmark {
+
+    private ObjectWriter responseWriter;
+    private GenericResponse<GetLicenseResponse> responseWithLinks;
+    private GenericResponse<GetLicenseResponse> responseWithoutLinks;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        responseWriter = objectMapper.writer();
+
+        try (AnnotationConfigApplicationContext context = BenchmarkContext.start()) {
+            GetLicenseResponse licenseResponse = LicenseFixtures.getLicenseResponse();
+            licenseResponse.add(context.getBean(LicenseLinkRegistry.class).licenseLinks(
+                    LicenseFixtures.BASE_URI, LicenseFixtures.LICENSE_ID, LicenseFixtures.ORGANIZATION_ID, Locale.ENGLISH));
+            responseWithLinks = GenericResponse.success(licenseResponse);
+        }
+        responseWithoutLinks = GenericResponse.success(LicenseFixtures.getLicenseResponse());
+    }
+
+    @Benchmark
+    public byte[] serializeWithLinks() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(responseWithLinks);
+    }
+
+    @Benchmark
+    public byte[] serializeWithoutLinks() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(responseWithoutLinks);
+    }
+}
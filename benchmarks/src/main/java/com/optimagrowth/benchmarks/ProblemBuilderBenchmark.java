@@ -0,0 +1,57 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemBuilderBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private ProblemBuilder problemBuilder;
+    private Map<String, List<String>> errorMessagesMap;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        problemBuilder = context.getBean(ProblemBuilder.class);
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        errorMessagesMap = Map.of(
+                "licenseId", List.of("The license id cannot be blank."),
+                "productName", List.of("The product name cannot be blank."));
+    }
+
+    @TearDown
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+        context.close();
+    }
+
+    @Benchmark
+    public ProblemDetail genericProblemDetail() {
+        return problemBuilder.buildGenericProblemDetail("The license could not be found.", HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public ProblemDetail runtimeProblemDetail() {
+        return problemBuilder.buildRuntimeProblemDetail("Service unavailable.", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Benchmark
+    public ProblemDetail validationProblemDetail() {
+        return problemBuilder.buildGenericProblemDetail("Validation failed.", HttpStatus.BAD_REQUEST, errorMessagesMap);
+    }
+}
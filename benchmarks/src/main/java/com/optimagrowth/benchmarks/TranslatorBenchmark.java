@@ -0,0 +1,55 @@
+package com.optimagrowth.benchmarks;
+
+import com.optimagrowth.commonlibrary.core.component.Translator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translator lookups as done by the services and exception handlers, with the precompiled message source of the
+ * service and the resource bundle one it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslatorBenchmark {
+
+    @Param({BenchmarkContext.PRECOMPILED, BenchmarkContext.RESOURCE_BUNDLE})
+    private String messageSource;
+
+    @Param({"en", "fr"})
+    private String locale;
+
+    private AnnotationConfigApplicationContext context;
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(messageSource, Map.of());
+        LocaleContextHolder.setLocale(Locale.forLanguageTag(locale));
+        args = new Object[]{LicenseFixtures.LICENSE_ID, LicenseFixtures.ORGANIZATION_ID};
+    }
+
+    @TearDown
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+        context.close();
+    }
+
+    @Benchmark
+    public String withoutArgs() {
+        return Translator.toLocale("exception.generic.title");
+    }
+
+    @Benchmark
+    public String withArgs() {
+        return Translator.toLocale("exception.license.not.found.with.id", args);
+    }
+}
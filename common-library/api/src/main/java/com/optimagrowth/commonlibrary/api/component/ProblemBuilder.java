@@ -1,39 +1,78 @@
 package com.optimagrowth.commonlibrary.api.component;
 
+import com.optimagrowth.commonlibrary.core.i18n.MessagesReloadedEvent;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 
 @Component
 public class ProblemBuilder {
 
-    @Value("${spring.application.name}")
-    private String applicationName;
-
-    @Value("${server.port}")
-    private String serverPort;
-
     private final static String DETAIL = "detail";
     private final static String GENERIC = "Generic";
     private final static String RUNTIME = "Runtime";
     private final static String TIMESTAMP = "timestamp";
     private final static String ERROR_CATEGORY = "errorCategory";
+    private final static String GENERIC_TITLE = "exception.generic.title";
+    private final static int TITLE_CACHE_LIMIT = 64;
+
+    /**
+     * Type URIs of every status, built once instead of formatted on each error.
+     */
+    private final Map<HttpStatus, URI> errorUris;
+
+    /**
+     * Generic title translated per locale, dropped when the messages are reloaded.
+     */
+    private final Map<Locale, String> genericTitles = new ConcurrentHashMap<>();
+
+    public ProblemBuilder(@Value("${spring.application.name}") String applicationName,
+                          @Value("${server.port}") String serverPort) {
+
+        Map<HttpStatus, URI> uris = new EnumMap<>(HttpStatus.class);
+        for (HttpStatus httpStatus : HttpStatus.values()) {
+            uris.put(httpStatus, URI.create(String.format(
+                    "https://%s:%s/errors/%s", applicationName, serverPort, httpStatus.name().toLowerCase())));
+        }
+        this.errorUris = uris;
+    }
 
-    private ProblemDetail createProblemDetail(String title, String detail, HttpStatus httpStatus, String errorCategory) {
+    @EventListener(MessagesReloadedEvent.class)
+    public void clearTitles() {
+        genericTitles.clear();
+    }
+
+    private String genericTitle() {
+        Locale locale = LocaleContextHolder.getLocale();
 
-        String errorUri = String.format(
-                "https://%s:%s/errors/%s", applicationName, serverPort, httpStatus.name().toLowerCase());
+        String title = genericTitles.get(locale);
+        if (title == null) {
+            title = translate(GENERIC_TITLE);
+            if (genericTitles.size() < TITLE_CACHE_LIMIT) {
+                genericTitles.put(locale, title);
+            }
+        }
+
+        return title;
+    }
+
+    private ProblemDetail createProblemDetail(String title, String detail, HttpStatus httpStatus, String errorCategory) {
 
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(httpStatus, detail);
-        problemDetail.setType(URI.create(errorUri));
+        problemDetail.setType(errorUris.get(httpStatus));
         problemDetail.setTitle(title);
         problemDetail.setProperty(TIMESTAMP, Instant.now());
         problemDetail.setProperty(ERROR_CATEGORY, errorCategory);
@@ -42,14 +81,14 @@ public class ProblemBuilder {
     }
 
     public ProblemDetail buildProblemDetail(String detail, HttpStatus httpStatus, boolean generic) {
-        String title = translate("exception.generic.title");
+        String title = genericTitle();
         String errorCategory = generic ? GENERIC : RUNTIME;
 
         return createProblemDetail(title, detail, httpStatus, errorCategory);
     }
 
     public ProblemDetail buildRuntimeProblemDetail(String detail, HttpStatus httpStatus) {
-        return createProblemDetail(translate("exception.generic.title"), detail, httpStatus, RUNTIME);
+        return createProblemDetail(genericTitle(), detail, httpStatus, RUNTIME);
     }
 
     public ProblemDetail buildRuntimeProblemDetail(String title, String detail, HttpStatus httpStatus) {
@@ -57,7 +96,7 @@ public class ProblemBuilder {
     }
 
     public ProblemDetail buildGenericProblemDetail(String detail, HttpStatus httpStatus) {
-        return createProblemDetail(translate("exception.generic.title"), detail, httpStatus, GENERIC);
+        return createProblemDetail(genericTitle(), detail, httpStatus, GENERIC);
     }
 
     public ProblemDetail buildGenericProblemDetail(String title, String detail, HttpStatus httpStatus) {
@@ -66,11 +105,8 @@ public class ProblemBuilder {
 
     public ProblemDetail buildGenericProblemDetail(String title, HttpStatus httpStatus, Map<String, List<String>> errorMessagesMap) {
 
-        String errorUri = String.format(
-                "https://%s:%s/errors/%s", applicationName, serverPort, httpStatus.name());
-
         ProblemDetail problemDetail = ProblemDetail.forStatus(httpStatus);
-        problemDetail.setType(URI.create(errorUri));
+        problemDetail.setType(errorUris.get(httpStatus));
         problemDetail.setTitle(title);
         problemDetail.setProperty(DETAIL, errorMessagesMap);
         problemDetail.setProperty(TIMESTAMP, Instant.now());
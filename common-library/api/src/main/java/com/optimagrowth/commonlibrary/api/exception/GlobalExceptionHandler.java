@@ -10,6 +10,7 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import org.apache.catalina.connector.ClientAbortException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.*;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -32,12 +33,14 @@ import java.nio.file.AccessDeniedException;
 import java.util.*;
 
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.getStackTraceAsString;
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.getStackTraceIfCaptured;
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 import static org.springframework.http.HttpStatus.*;
 
 @NonNullApi
 @RestControllerAdvice
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private final ProblemBuilder problemBuilder;
@@ -84,7 +87,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
         ProblemDetail problemDetail = problemBuilder
                 .buildGenericProblemDetail(
-                        exception.getLocalizedMessage(), getStackTraceAsString(exception), BAD_REQUEST);
+                        exception.getLocalizedMessage(), getStackTraceIfCaptured(exception), BAD_REQUEST);
         return handleExceptionInternal(exception, problemDetail, headers, BAD_REQUEST, request);
     }
 
@@ -94,14 +97,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      *
      * @param exception The exception that was thrown due to unauthorized access.
      *
-     * @return A {@link ProblemDetail} object containing detailed error information, including the stack trace and localized message.
+     * @return A {@link ProblemDetail} object containing detailed error information, including the localized message and, when captured, the stack trace.
      */
     @ExceptionHandler(HttpClientErrorException.Unauthorized.class)
     public ResponseEntity<Object> handleUnauthorizedException(HttpClientErrorException.Unauthorized exception, WebRequest request) {
 
         ProblemDetail problemDetail = problemBuilder
                 .buildGenericProblemDetail(
-                        exception.getLocalizedMessage(), getStackTraceAsString(exception), UNAUTHORIZED);
+                        exception.getLocalizedMessage(), getStackTraceIfCaptured(exception), UNAUTHORIZED);
 
         return handleExceptionInternal(exception, problemDetail, new HttpHeaders(), UNAUTHORIZED, request);
     }
@@ -0,0 +1,135 @@
+package com.optimagrowth.commonlibrary.api.exception;
+
+import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import com.optimagrowth.commonlibrary.core.exception.DomainException;
+import com.optimagrowth.commonlibrary.core.exception.StackTraceCapture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the ProblemDetails built for the handled errors include the stack trace only when
+ * {@link StackTraceCapture} captures it, and that a {@link DomainException} raised without its stack trace
+ * never renders one.
+ */
+class GlobalExceptionHandlerTests {
+
+    private static final String STACK_FRAME = "\tat ";
+    private static final int SAMPLES = 200;
+
+    private final GlobalExceptionHandler globalExceptionHandler =
+            new GlobalExceptionHandler(new ProblemBuilder("licensing-service", "8080"));
+
+    private static class UnknownResourceException extends DomainException {
+        UnknownResourceException() {
+            super("Unknown resource");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        capture(StackTraceCapture.Mode.ALWAYS, 1);
+    }
+
+    @Test
+    void alwaysIncludesTheStackTrace() {
+        capture(StackTraceCapture.Mode.ALWAYS, 1);
+
+        assertTrue(unauthorized().getDetail().contains(STACK_FRAME));
+        assertTrue(unhandled(new UnknownResourceException()).getDetail().contains(STACK_FRAME));
+    }
+
+    @Test
+    void neverOmitsTheStackTrace() {
+        capture(StackTraceCapture.Mode.NEVER, 1);
+
+        HttpClientErrorException exception = unauthorizedException();
+        ProblemDetail problemDetail = unauthorized(exception);
+        assertEquals(exception.getLocalizedMessage(), problemDetail.getDetail());
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), problemDetail.getStatus());
+        assertEquals(exception.getLocalizedMessage(), problemDetail.getTitle());
+
+        assertFalse(unhandled(new UnknownResourceException()).getDetail().contains(STACK_FRAME));
+    }
+
+    @Test
+    void sampledIncludesTheStackTraceOfSomeErrors() {
+        capture(StackTraceCapture.Mode.SAMPLED, 4);
+
+        long withStackTrace = IntStream.range(0, SAMPLES)
+                .filter(index -> unauthorized().getDetail().contains(STACK_FRAME))
+                .count();
+
+        // 50 expected, far enough from both bounds for the test not to be flaky
+        assertTrue(withStackTrace > 0 && withStackTrace < SAMPLES, "with stack trace " + withStackTrace);
+    }
+
+    @Test
+    void sampledAtARateOfOneIncludesEveryStackTrace() {
+        capture(StackTraceCapture.Mode.SAMPLED, 1);
+
+        assertTrue(IntStream.range(0, SAMPLES).allMatch(index -> unauthorized().getDetail().contains(STACK_FRAME)));
+    }
+
+    @Test
+    void domainExceptionRaisedWithoutStackTraceNeverRendersOne() {
+        capture(StackTraceCapture.Mode.NEVER, 1);
+        UnknownResourceException exception = new UnknownResourceException();
+
+        // The handler prints whatever the exception holds, even once the capture is switched back on
+        capture(StackTraceCapture.Mode.ALWAYS, 1);
+        ProblemDetail problemDetail = unhandled(exception);
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertFalse(problemDetail.getDetail().contains(STACK_FRAME));
+        assertTrue(problemDetail.getDetail().contains(exception.getLocalizedMessage()));
+        assertEquals(exception.getLocalizedMessage(), problemDetail.getTitle());
+        assertEquals("Runtime", problemDetail.getProperties().get("errorCategory"));
+    }
+
+    private static void capture(StackTraceCapture.Mode mode, int sampleRate) {
+        ReflectionTestUtils.setField(StackTraceCapture.class, "mode", mode);
+        ReflectionTestUtils.setField(StackTraceCapture.class, "sampleRate", sampleRate);
+    }
+
+    private static HttpClientErrorException unauthorizedException() {
+        return HttpClientErrorException.create(
+                HttpStatus.UNAUTHORIZED, "Unauthorized", new HttpHeaders(), new byte[0], StandardCharsets.UTF_8);
+    }
+
+    private ProblemDetail unauthorized() {
+        return unauthorized(unauthorizedException());
+    }
+
+    private ProblemDetail unauthorized(HttpClientErrorException exception) {
+        ResponseEntity<Object> response = globalExceptionHandler.handleUnauthorizedException(
+                assertInstanceOf(HttpClientErrorException.Unauthorized.class, exception),
+                new ServletWebRequest(new MockHttpServletRequest()));
+
+        assertNotNull(response);
+        return assertInstanceOf(ProblemDetail.class, response.getBody());
+    }
+
+    private ProblemDetail unhandled(Exception exception) {
+        ProblemDetail problemDetail = globalExceptionHandler.handleException(exception);
+        assertNotNull(problemDetail.getDetail());
+
+        return problemDetail;
+    }
+}
@@ -1,5 +1,6 @@
 package com.optimagrowth.commonlibrary.core.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +17,9 @@ public class GenericResponse<T> {
     private String message;
     private T data;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
     public static <T> GenericResponse<T> empty(){
         return GenericResponse.<T>builder()
                 .timestamp(LocalDateTime.now())
@@ -51,6 +55,18 @@ public class GenericResponse<T> {
                 .build();
     }
 
+    public static <T> GenericResponse<T> success(T data,
+                                                 String message,
+                                                 String next) {
+        return GenericResponse.<T>builder()
+                .timestamp(LocalDateTime.now())
+                .success(true)
+                .message(message)
+                .data(data)
+                .next(next)
+                .build();
+    }
+
     public static <T> GenericResponse<T> error(T data){
         return GenericResponse.<T>builder()
                 .timestamp(LocalDateTime.now())
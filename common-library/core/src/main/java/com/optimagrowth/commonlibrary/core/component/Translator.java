@@ -11,7 +11,11 @@ import java.util.Locale;
 @Component
 public class Translator {
 
-    private static MessageSource messageSource;
+    /**
+     * Written once at startup and read by every request thread, platform or virtual.
+     * The locale itself is per request, read from the LocaleContextHolder thread local.
+     */
+    private static volatile MessageSource messageSource;
 
     /**
      * Constructor that injects the MessageSource bean.
@@ -1,41 +1,40 @@
 package com.optimagrowth.commonlibrary.core.config;
 
+import com.optimagrowth.commonlibrary.core.i18n.PrecompiledMessageSource;
+import com.optimagrowth.commonlibrary.core.i18n.StatelessLocaleResolver;
 import io.micrometer.common.lang.NonNullApi;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.LocaleResolver;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
-import org.springframework.web.servlet.i18n.SessionLocaleResolver;
 
+import java.util.List;
 import java.util.Locale;
-import java.util.TimeZone;
 
 @NonNullApi
 @Configuration
 public class LocaleResolverConfig implements WebMvcConfigurer {
 
+    @Value("${messages.locales:en,fr,es}")
+    private List<Locale> messageLocales;
+
     /**
-     * ReloadableResourceBundleMessageSource is the most common MessageSource implementation that
-     * resolves messages from resource bundles for different locales.
+     * PrecompiledMessageSource loads the "messages" resource bundles of the configured locales once,
+     * with every message already parsed. Messages are read from immutable maps on each request,
+     * without staleness checks; call {@link PrecompiledMessageSource#reload()} to pick up changed bundles.
      *
      * @return The MessageSource instance
      */
     @Bean
     public MessageSource messageSource() {
-        ResourceBundleMessageSource resourceBundleMessageSource =  new ResourceBundleMessageSource();
-        resourceBundleMessageSource.setUseCodeAsDefaultMessage(true);
-        resourceBundleMessageSource.setAlwaysUseMessageFormat(true);
-        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
-        resourceBundleMessageSource.setBasename("messages");
-        resourceBundleMessageSource.setCacheSeconds(5);
+        PrecompiledMessageSource precompiledMessageSource = new PrecompiledMessageSource("messages", messageLocales);
+        precompiledMessageSource.setUseCodeAsDefaultMessage(true);
 
-        return resourceBundleMessageSource;
+        return precompiledMessageSource;
     }
 
     /**
@@ -58,40 +57,19 @@ public class LocaleResolverConfig implements WebMvcConfigurer {
 
     /**
      * In order for our application to be able to determine which locale is currently being used.
-     *
-     * @return -
-     */
-    @Bean
-    public LocaleResolver localeResolver() {
-        SessionLocaleResolver sessionLocaleResolver = new SessionLocaleResolver();
-        sessionLocaleResolver.setDefaultLocale(Locale.ENGLISH);
-        sessionLocaleResolver.setDefaultTimeZone(TimeZone.getTimeZone("UTC"));
-
-        return sessionLocaleResolver;
-    }
-
-    /**
-     * Add an interceptor bean that will switch to a new locale based on the value of the "lang" query
-     * string parameter appended to a request.
+     * The locale is resolved from the "lang" query string parameter, then the Accept-Language header,
+     * without storing anything in an HTTP session.
      * Eg: /entities/27?lang=pl
-     * Note: To take effect, this bean needs to be added to the application's interceptor
-     * registry
      *
      * @return -
      */
     @Bean
-    public LocaleChangeInterceptor localeChangeInterceptor() {
-        LocaleChangeInterceptor localeChangeInterceptor = new LocaleChangeInterceptor();
-        localeChangeInterceptor.setParamName("lang");
-
-        return localeChangeInterceptor;
-    }
+    public LocaleResolver localeResolver() {
+        StatelessLocaleResolver statelessLocaleResolver = new StatelessLocaleResolver();
+        statelessLocaleResolver.setParamName("lang");
+        statelessLocaleResolver.setDefaultLocale(Locale.ENGLISH);
+        statelessLocaleResolver.setSupportedLocales(messageLocales);
 
-    /**
-     * Register the LocaleChangeInterceptor
-     */
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(localeChangeInterceptor());
+        return statelessLocaleResolver;
     }
 }
@@ -0,0 +1,13 @@
+package com.optimagrowth.commonlibrary.core.exception;
+
+/**
+ * Base class of the expected business errors (unknown resource, failed precondition, invalid input...).
+ * These are raised on the normal request path and mapped to a 4xx response, so their stack trace is
+ * only filled when {@link StackTraceCapture} allows it, and suppression is disabled.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, StackTraceCapture.shouldCapture());
+    }
+}
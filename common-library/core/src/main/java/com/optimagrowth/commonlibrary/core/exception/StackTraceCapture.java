@@ -0,0 +1,56 @@
+package com.optimagrowth.commonlibrary.core.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether stack traces are captured for {@link DomainException}s and rendered in error responses.
+ * Filling and printing a stack trace costs far more than building the error response itself, so
+ * for the expected errors (unknown ids, invalid input) it is opt-in through the configuration:
+ * <ul>
+ *     <li>never - no stack trace (default)</li>
+ *     <li>sampled - one error out of exception.stack-trace.sample-rate</li>
+ *     <li>always - every error, as before</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StackTraceCapture {
+
+    public enum Mode {
+        NEVER, SAMPLED, ALWAYS
+    }
+
+    /**
+     * Written once at startup and read by every request thread, like the Translator MessageSource.
+     * Until then, stack traces are captured.
+     */
+    private static volatile Mode mode = Mode.ALWAYS;
+    private static volatile int sampleRate = 1;
+
+    @Autowired
+    StackTraceCapture(@Value("${exception.stack-trace.capture:never}") Mode mode,
+                      @Value("${exception.stack-trace.sample-rate:100}") int sampleRate) {
+        StackTraceCapture.sampleRate = Math.max(sampleRate, 1);
+        StackTraceCapture.mode = mode;
+
+        log.info("Stack traces of domain exceptions: {}", mode == Mode.SAMPLED
+                ? "sampled, 1 out of " + StackTraceCapture.sampleRate : mode.name().toLowerCase());
+    }
+
+    /**
+     * @return Whether the stack trace of the error being raised or handled should be captured
+     */
+    public static boolean shouldCapture() {
+
+        return switch (mode) {
+            case NEVER -> false;
+            case ALWAYS -> true;
+            case SAMPLED -> ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.optimagrowth.commonlibrary.core.i18n;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once {@link PrecompiledMessageSource} has reloaded its messages,
+ * so that components caching translated messages can drop them.
+ */
+public class MessagesReloadedEvent extends ApplicationEvent {
+
+    public MessagesReloadedEvent(PrecompiledMessageSource source) {
+        super(source);
+    }
+}
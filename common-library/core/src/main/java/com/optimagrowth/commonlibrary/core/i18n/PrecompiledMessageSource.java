@@ -0,0 +1,204 @@
+package com.optimagrowth.commonlibrary.core.i18n;
+
+import io.micrometer.common.lang.NonNullApi;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.*;
+
+/**
+ * Message source loading the resource bundles of a basename once into immutable per-locale maps.
+ * Every message is parsed into a {@link MessageFormat} at load time: messages requested without arguments
+ * are answered with the constant string it produces, and messages with arguments are formatted by a copy
+ * of the parsed format, so that no pattern is parsed and no shared format is locked on the hot path.
+ * Bundles are resolved like {@link java.util.ResourceBundle}: the most specific bundle of the requested locale,
+ * then of the system locale, with the base bundle as parent. Unlike ResourceBundle the messages never expire,
+ * they are only reloaded by an explicit call to {@link #reload()}.
+ */
+@Slf4j
+@NonNullApi
+public class PrecompiledMessageSource extends AbstractMessageSource implements ApplicationEventPublisherAware {
+
+    private static final String EXTENSION = ".properties";
+
+    private final String basename;
+    private final List<Locale> locales;
+
+    private boolean fallbackToSystemLocale = true;
+
+    @Nullable
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private volatile Map<Locale, Map<String, Message>> bundles;
+
+    /**
+     * @param basename The basename of the bundles, e.g. "messages" for messages.properties and messages_fr.properties.
+     * @param locales The locales whose bundles are loaded, along with their less specific parents.
+     */
+    public PrecompiledMessageSource(String basename, List<Locale> locales) {
+        this.basename = basename;
+        this.locales = List.copyOf(locales);
+        this.bundles = load();
+    }
+
+    /**
+     * @param fallbackToSystemLocale Whether to fall back to the bundles of the system locale
+     *                               when the requested locale has none, as ResourceBundle does. Default is true.
+     */
+    public void setFallbackToSystemLocale(boolean fallbackToSystemLocale) {
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Reloads the bundles from the classpath and swaps them in at once.
+     * Concurrent lookups see either the previous or the new messages, never a mix of both.
+     */
+    public void reload() {
+        this.bundles = load();
+        log.info("Reloaded the {} messages for the locales {}", basename, locales);
+
+        if (applicationEventPublisher != null) {
+            applicationEventPublisher.publishEvent(new MessagesReloadedEvent(this));
+        }
+    }
+
+    @Override
+    @Nullable
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Message message = messages(locale).get(code);
+
+        return message == null ? null : message.constant();
+    }
+
+    @Override
+    @Nullable
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Message message = messages(locale).get(code);
+
+        // MessageFormat is not thread-safe, each caller formats with its own copy of the parsed pattern
+        return message == null ? null : (MessageFormat) message.format().clone();
+    }
+
+    private Map<String, Message> messages(Locale locale) {
+        Map<Locale, Map<String, Message>> currentBundles = bundles;
+
+        Map<String, Message> messages = currentBundles.get(locale);
+        if (messages != null) return messages;
+
+        for (Locale candidate : candidates(locale)) {
+            messages = currentBundles.get(candidate);
+            if (messages != null) return messages;
+        }
+        if (fallbackToSystemLocale) {
+            for (Locale candidate : candidates(Locale.getDefault())) {
+                messages = currentBundles.get(candidate);
+                if (messages != null) return messages;
+            }
+        }
+
+        return currentBundles.getOrDefault(Locale.ROOT, Map.of());
+    }
+
+    private Map<Locale, Map<String, Message>> load() {
+
+        Map<Locale, Properties> properties = new HashMap<>();
+        Properties baseProperties = read(basename + EXTENSION);
+        if (baseProperties != null) properties.put(Locale.ROOT, baseProperties);
+
+        for (Locale locale : locales) {
+            for (Locale candidate : candidates(locale)) {
+                if (properties.containsKey(candidate)) continue;
+
+                Properties candidateProperties = read(basename + "_" + candidate + EXTENSION);
+                if (candidateProperties != null) properties.put(candidate, candidateProperties);
+            }
+        }
+
+        Map<Locale, Map<String, Message>> loadedBundles = new HashMap<>();
+        for (Locale locale : properties.keySet()) {
+            // Less specific bundles first, so that the most specific message of a key wins
+            List<Locale> chain = new ArrayList<>(candidates(locale));
+            chain.add(Locale.ROOT);
+            Collections.reverse(chain);
+
+            Map<String, Message> messages = new HashMap<>();
+            for (Locale parent : chain) {
+                Properties parentProperties = properties.get(parent);
+                if (parentProperties == null) continue;
+
+                parentProperties.forEach((key, pattern) ->
+                        messages.put((String) key, Message.compile((String) pattern, locale)));
+            }
+            loadedBundles.put(locale, Map.copyOf(messages));
+        }
+
+        return Map.copyOf(loadedBundles);
+    }
+
+    @Nullable
+    private Properties read(String name) {
+
+        Resource resource = new ClassPathResource(name, getClass().getClassLoader());
+        if (!resource.exists()) return null;
+
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+
+            return properties;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not load the messages " + name, exception);
+        }
+    }
+
+    /**
+     * @return The locale and its less specific parents, most specific first, without the root locale.
+     */
+    private static List<Locale> candidates(Locale locale) {
+
+        List<Locale> candidates = new ArrayList<>(3);
+        if (!locale.getVariant().isEmpty())
+            candidates.add(Locale.of(locale.getLanguage(), locale.getCountry(), locale.getVariant()));
+        if (!locale.getCountry().isEmpty())
+            candidates.add(Locale.of(locale.getLanguage(), locale.getCountry()));
+        if (!locale.getLanguage().isEmpty())
+            candidates.add(Locale.of(locale.getLanguage()));
+
+        return candidates;
+    }
+
+    /**
+     * A message parsed once, with the string it produces when formatted without arguments.
+     */
+    private record Message(String constant, MessageFormat format) {
+
+        static Message compile(String pattern, Locale locale) {
+            MessageFormat format;
+            try {
+                format = new MessageFormat(pattern, locale);
+            } catch (IllegalArgumentException exception) {
+                // An invalid pattern is served as is rather than failing every lookup of the key
+                log.warn("Invalid message pattern, served as literal text: {}", pattern, exception);
+                format = new MessageFormat("'" + pattern.replace("'", "''") + "'", locale);
+            }
+
+            return new Message(format.format(new Object[0]), format);
+        }
+    }
+}
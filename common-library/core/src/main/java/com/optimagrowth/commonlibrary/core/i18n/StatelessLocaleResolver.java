@@ -0,0 +1,104 @@
+package com.optimagrowth.commonlibrary.core.i18n;
+
+import io.micrometer.common.lang.NonNullApi;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocaleResolver resolving the locale of each request from the request alone, without any HTTP session:
+ * the "lang" query string parameter first (eg: /entities/27?lang=fr), then the Accept-Language header,
+ * then the default locale.
+ * The locales parsed from the parameter and the header values are cached, up to a fixed number of
+ * distinct values so that arbitrary client input cannot grow the caches without bound.
+ */
+@Slf4j
+@NonNullApi
+public class StatelessLocaleResolver extends AcceptHeaderLocaleResolver {
+
+    public static final String DEFAULT_PARAM_NAME = "lang";
+
+    private static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private final Map<String, Locale> parameterLocales = new ConcurrentHashMap<>();
+    private final Map<String, Locale> headerLocales = new ConcurrentHashMap<>();
+
+    private String paramName = DEFAULT_PARAM_NAME;
+    private int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+    public void setParamName(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public void setCacheLimit(int cacheLimit) {
+        this.cacheLimit = cacheLimit;
+    }
+
+    @Override
+    public Locale resolveLocale(HttpServletRequest request) {
+        Locale parameterLocale = resolveParameterLocale(request.getParameter(paramName));
+        if (parameterLocale != null) {
+            return parameterLocale;
+        }
+
+        String acceptLanguage = request.getHeader(HttpHeaders.ACCEPT_LANGUAGE);
+        if (!StringUtils.hasText(acceptLanguage)) {
+            return super.resolveLocale(request);
+        }
+
+        Locale headerLocale = headerLocales.get(acceptLanguage);
+        if (headerLocale == null) {
+            headerLocale = super.resolveLocale(request);
+            cache(headerLocales, acceptLanguage, headerLocale);
+        }
+
+        return headerLocale;
+    }
+
+    /**
+     * The locale is never stored: a "lang" parameter only applies to the request carrying it.
+     */
+    @Override
+    public void setLocale(HttpServletRequest request, @Nullable HttpServletResponse response, @Nullable Locale locale) {
+        // Stateless, nothing to store
+    }
+
+    @Nullable
+    private Locale resolveParameterLocale(@Nullable String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+
+        Locale locale = parameterLocales.get(value);
+        if (locale != null) {
+            return locale;
+        }
+
+        try {
+            locale = StringUtils.parseLocale(value);
+        } catch (IllegalArgumentException exception) {
+            log.debug("Ignoring invalid locale value [{}] of parameter [{}]", value, paramName);
+            return null;
+        }
+
+        if (locale != null) {
+            cache(parameterLocales, value, locale);
+        }
+
+        return locale;
+    }
+
+    private void cache(Map<String, Locale> locales, String value, Locale locale) {
+        if (locales.size() < cacheLimit) {
+            locales.putIfAbsent(value, locale);
+        }
+    }
+}
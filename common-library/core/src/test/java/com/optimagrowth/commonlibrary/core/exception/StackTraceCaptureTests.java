@@ -0,0 +1,73 @@
+package com.optimagrowth.commonlibrary.core.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the stack trace of a {@link DomainException} is filled according to the configured
+ * {@link StackTraceCapture.Mode}, and that its suppressed exceptions are never recorded.
+ */
+class StackTraceCaptureTests {
+
+    private static final int SAMPLES = 1000;
+
+    private static class UnknownResourceException extends DomainException {
+        UnknownResourceException() {
+            super("Unknown resource");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        new StackTraceCapture(StackTraceCapture.Mode.ALWAYS, 1);
+    }
+
+    @Test
+    void neverCaptures() {
+        new StackTraceCapture(StackTraceCapture.Mode.NEVER, 1);
+
+        assertFalse(StackTraceCapture.shouldCapture());
+        assertEquals(0, new UnknownResourceException().getStackTrace().length);
+    }
+
+    @Test
+    void alwaysCaptures() {
+        new StackTraceCapture(StackTraceCapture.Mode.ALWAYS, 100);
+
+        assertTrue(StackTraceCapture.shouldCapture());
+        assertTrue(new UnknownResourceException().getStackTrace().length > 0);
+    }
+
+    @Test
+    void sampledCapturesOneErrorOutOfTheRate() {
+        new StackTraceCapture(StackTraceCapture.Mode.SAMPLED, 4);
+
+        long captured = IntStream.range(0, SAMPLES)
+                .filter(index -> new UnknownResourceException().getStackTrace().length > 0)
+                .count();
+
+        // 250 expected, far enough from both bounds for the test not to be flaky
+        assertTrue(captured > SAMPLES / 8 && captured < SAMPLES / 2, "captured " + captured);
+    }
+
+    @Test
+    void sampleRateOfOneOrLessCapturesEveryError() {
+        new StackTraceCapture(StackTraceCapture.Mode.SAMPLED, 0);
+
+        assertTrue(IntStream.range(0, SAMPLES).allMatch(index -> StackTraceCapture.shouldCapture()));
+    }
+
+    @Test
+    void suppressedExceptionsAreNotRecorded() {
+        UnknownResourceException exception = new UnknownResourceException();
+        exception.addSuppressed(new IllegalStateException());
+
+        assertEquals(0, exception.getSuppressed().length);
+    }
+}
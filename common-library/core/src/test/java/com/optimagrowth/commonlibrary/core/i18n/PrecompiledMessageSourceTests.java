@@ -0,0 +1,127 @@
+package com.optimagrowth.commonlibrary.core.i18n;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that the messages are served from their precompiled patterns, resolved from the most specific bundle to
+ * the base one, formatted as MessageFormat patterns with or without arguments, and reloaded on demand.
+ */
+class PrecompiledMessageSourceTests {
+
+    private static final String BASENAME = "i18n/precompiled";
+    private static final Locale CANADA_FRENCH = Locale.of("fr", "CA");
+
+    private final Locale defaultLocale = Locale.getDefault();
+
+    private PrecompiledMessageSource precompiledMessageSource;
+
+    @BeforeEach
+    void setUp() {
+        precompiledMessageSource = new PrecompiledMessageSource(BASENAME, List.of(Locale.ENGLISH, Locale.FRENCH, CANADA_FRENCH));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void mostSpecificMessageWins() {
+        assertEquals("Allo Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, CANADA_FRENCH));
+        assertEquals("Bonjour Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.FRENCH));
+        // Missing from the fr_CA bundle, taken from its fr then base parents
+        assertEquals("C'est {0} et Ada", precompiledMessageSource.getMessage("quoted", new Object[]{"Ada"}, CANADA_FRENCH));
+        assertEquals("Base message", precompiledMessageSource.getMessage("base.only", null, CANADA_FRENCH));
+    }
+
+    @Test
+    void eachCallerFormatsWithItsOwnCopyOfThePattern() {
+        MessageFormat first = precompiledMessageSource.resolveCode("greeting", Locale.FRENCH);
+        MessageFormat second = precompiledMessageSource.resolveCode("greeting", Locale.FRENCH);
+
+        assertNotSame(first, second);
+        assertEquals("Bonjour {0}", first.toPattern());
+        assertEquals(first.toPattern(), second.toPattern());
+        assertEquals(Locale.FRENCH, first.getLocale());
+    }
+
+    @Test
+    void messagesAreMessageFormatPatternsWithOrWithoutArguments() {
+        assertEquals("It's {0} and {0}", precompiledMessageSource.getMessage("quoted", null, Locale.ROOT));
+        assertEquals("It's {0} and Ada", precompiledMessageSource.getMessage("quoted", new Object[]{"Ada"}, Locale.ROOT));
+        assertEquals("It's {0} and {0}", precompiledMessageSource.resolveCodeWithoutArguments("quoted", Locale.ROOT));
+    }
+
+    @Test
+    void invalidPatternIsServedAsLiteralText() {
+        assertEquals("Unbalanced {0", precompiledMessageSource.getMessage("invalid", null, Locale.ROOT));
+        assertEquals("Unbalanced {0", precompiledMessageSource.getMessage("invalid", new Object[]{"Ada"}, Locale.ROOT));
+    }
+
+    @Test
+    void localeWithoutBundleFallsBackToTheSystemLocaleThenTheBaseBundle() {
+        Locale.setDefault(Locale.FRENCH);
+        assertEquals("Bonjour Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.GERMAN));
+
+        precompiledMessageSource.setFallbackToSystemLocale(false);
+        assertEquals("Hello Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.GERMAN));
+        assertEquals("Hello Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.ENGLISH));
+    }
+
+    @Test
+    void unknownCode() {
+        assertThrows(NoSuchMessageException.class,
+                () -> precompiledMessageSource.getMessage("unknown", null, Locale.FRENCH));
+
+        precompiledMessageSource.setUseCodeAsDefaultMessage(true);
+        assertEquals("unknown", precompiledMessageSource.getMessage("unknown", null, Locale.FRENCH));
+    }
+
+    @Test
+    void reloadPublishesTheEvent() {
+        ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        precompiledMessageSource.setApplicationEventPublisher(applicationEventPublisher);
+
+        precompiledMessageSource.reload();
+
+        verify(applicationEventPublisher).publishEvent(any(MessagesReloadedEvent.class));
+        assertEquals("Bonjour Ada", precompiledMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.FRENCH));
+    }
+
+    @Test
+    void reloadPicksUpChangedBundles() throws IOException {
+        // Written next to the bundles of this test, on the classpath
+        Path bundle = new ClassPathResource(BASENAME + ".properties").getFile().toPath().resolveSibling("reloaded.properties");
+        PrecompiledMessageSource reloadedMessageSource = new PrecompiledMessageSource("i18n/reloaded", List.of(Locale.FRENCH));
+        reloadedMessageSource.setUseCodeAsDefaultMessage(true);
+
+        try {
+            Files.writeString(bundle, "greeting=Hello {0}");
+            assertEquals("greeting", reloadedMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.FRENCH));
+
+            reloadedMessageSource.reload();
+            assertEquals("Hello Ada", reloadedMessageSource.getMessage("greeting", new Object[]{"Ada"}, Locale.FRENCH));
+        } finally {
+            Files.deleteIfExists(bundle);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.optimagrowth.commonlibrary.core.i18n;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks the order in which the locale of a request is resolved, that the parsed locales are cached, and that no
+ * HTTP session is ever created.
+ */
+class StatelessLocaleResolverTests {
+
+    private static final Locale SPANISH = Locale.of("es");
+
+    private StatelessLocaleResolver statelessLocaleResolver;
+
+    @BeforeEach
+    void setUp() {
+        statelessLocaleResolver = new StatelessLocaleResolver();
+        statelessLocaleResolver.setDefaultLocale(Locale.ENGLISH);
+        statelessLocaleResolver.setSupportedLocales(List.of(Locale.ENGLISH, Locale.FRENCH, SPANISH));
+    }
+
+    @Test
+    void langParameterComesFirst() {
+        assertEquals(Locale.FRENCH, statelessLocaleResolver.resolveLocale(request("fr", "es")));
+        assertEquals(Locale.FRENCH, statelessLocaleResolver.resolveLocale(request("fr", null)));
+    }
+
+    @Test
+    void acceptLanguageComesNext() {
+        assertEquals(SPANISH, statelessLocaleResolver.resolveLocale(request(null, "es")));
+        assertEquals(SPANISH, statelessLocaleResolver.resolveLocale(request("", "es")));
+        assertEquals(Locale.FRENCH, statelessLocaleResolver.resolveLocale(request(null, "de-DE,fr;q=0.8")));
+    }
+
+    @Test
+    void invalidLangParameterFallsBackToAcceptLanguage() {
+        assertEquals(SPANISH, statelessLocaleResolver.resolveLocale(request("fr%", "es")));
+    }
+
+    @Test
+    void defaultLocaleComesLast() {
+        assertEquals(Locale.ENGLISH, statelessLocaleResolver.resolveLocale(request(null, null)));
+        assertEquals(Locale.ENGLISH, statelessLocaleResolver.resolveLocale(request(null, "de")));
+    }
+
+    @Test
+    void langParameterIsParsedOnce() {
+        try (MockedStatic<StringUtils> stringUtils = mockStatic(StringUtils.class, CALLS_REAL_METHODS)) {
+            for (int index = 0; index < 3; index++) {
+                assertEquals(Locale.FRENCH, statelessLocaleResolver.resolveLocale(request("fr", null)));
+            }
+
+            stringUtils.verify(() -> StringUtils.parseLocale("fr"), times(1));
+        }
+    }
+
+    @Test
+    void acceptLanguageIsResolvedOnce() {
+        statelessLocaleResolver.resolveLocale(request(null, "es"));
+
+        MockHttpServletRequest request = spy(request(null, "es"));
+        assertEquals(SPANISH, statelessLocaleResolver.resolveLocale(request));
+        verify(request, never()).getLocales();
+        verify(request, never()).getLocale();
+    }
+
+    @Test
+    void cacheIsBounded() {
+        statelessLocaleResolver.setCacheLimit(1);
+        statelessLocaleResolver.resolveLocale(request(null, "es"));
+        statelessLocaleResolver.resolveLocale(request(null, "fr"));
+
+        MockHttpServletRequest request = spy(request(null, "fr"));
+        assertEquals(Locale.FRENCH, statelessLocaleResolver.resolveLocale(request));
+        verify(request).getLocale();
+    }
+
+    @Test
+    void noSessionIsCreated() {
+        MockHttpServletRequest request = request("fr", "es");
+
+        statelessLocaleResolver.resolveLocale(request);
+        statelessLocaleResolver.setLocale(request, new MockHttpServletResponse(), Locale.FRENCH);
+
+        assertNull(request.getSession(false));
+        assertEquals(SPANISH, statelessLocaleResolver.resolveLocale(request(null, "es")));
+    }
+
+    private static MockHttpServletRequest request(@Nullable String lang, @Nullable String acceptLanguage) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/organization/organization-0042/license");
+        if (lang != null) {
+            request.setParameter(StatelessLocaleResolver.DEFAULT_PARAM_NAME, lang);
+        }
+        if (acceptLanguage != null) {
+            request.addHeader(HttpHeaders.ACCEPT_LANGUAGE, acceptLanguage);
+        }
+
+        return request;
+    }
+}
@@ -1,6 +1,7 @@
 package com.optimagrowth.commonlibrary.utils.utils;
 
 import com.optimagrowth.commonlibrary.core.component.Translator;
+import com.optimagrowth.commonlibrary.core.exception.StackTraceCapture;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
@@ -33,6 +34,18 @@ public abstract class Utils {
         return stringWriter.toString();
     }
 
+    /**
+     * Util to describe an expected error without paying for its stack trace unless {@link StackTraceCapture} asks for it
+     *
+     * @param exception The handled exception
+     * @return The stack trace of the exception when captured, its message otherwise
+     */
+    public static String getStackTraceIfCaptured(Exception exception) {
+        return StackTraceCapture.shouldCapture()
+                ? getStackTraceAsString(exception)
+                : exception.getLocalizedMessage();
+    }
+
     private String getErrorsDetails(MethodArgumentNotValidException exception) {
         return Optional.of(exception.getDetailMessageArguments())
                 .map(args -> Arrays.stream(args)
@@ -0,0 +1,95 @@
+package com.optimagrowth.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies and response statuses of the operations, recorded concurrently by the clients.
+ * Latencies are recorded in microseconds into HdrHistogram recorders and reported in milliseconds.
+ */
+class LatencyReport {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROSECONDS_PER_MILLISECOND = 1000.0;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, ConcurrentMap<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        if (status != LicenseClient.NO_LICENSE) recorders.get(operation).recordValue(Math.max(latencyNanos / 1000, 1));
+        statuses.get(operation).computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Prints the throughput and latency percentiles of each operation and of all of them,
+     * and writes their full latency distributions to the output directory if any.
+     */
+    void print(PrintStream out, Duration elapsed, @Nullable String outputDirectory) throws IOException {
+
+        double seconds = elapsed.toNanos() / 1e9;
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+
+        out.printf("%-8s %10s %10s %10s %10s %10s %10s  %s%n",
+                "", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) continue;
+
+            total.add(histogram);
+            printLine(out, operation.name(), histogram, seconds, statuses(operation));
+            write(outputDirectory, operation.name().toLowerCase(), histogram);
+        }
+
+        printLine(out, "TOTAL", total, seconds, "");
+        write(outputDirectory, "total", total);
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram, double seconds, String statuses) {
+        out.printf("%-8s %10d %10.1f %10.3f %10.3f %10.3f %10.3f  %s%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getValueAtPercentile(99) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getValueAtPercentile(99.9) / MICROSECONDS_PER_MILLISECOND,
+                histogram.getMaxValue() / MICROSECONDS_PER_MILLISECOND,
+                statuses);
+    }
+
+    private String statuses(Operation operation) {
+        return new TreeMap<>(statuses.get(operation)).entrySet().stream()
+                .map(status -> (status.getKey() == LicenseClient.NO_LICENSE ? "none" : status.getKey()) + "=" + status.getValue())
+                .collect(Collectors.joining(" "));
+    }
+
+    private static void write(@Nullable String outputDirectory, String name, Histogram histogram) throws IOException {
+        if (outputDirectory == null) return;
+
+        Path directory = Files.createDirectories(Path.of(outputDirectory));
+        try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(file, MICROSECONDS_PER_MILLISECOND);
+        }
+    }
+}
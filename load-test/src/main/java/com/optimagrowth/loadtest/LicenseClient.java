@@ -0,0 +1,185 @@
+package com.optimagrowth.loadtest;
+
+import com.optimagrowth.loadtest.LicenseKeys.LicenseKey;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Sends the license operations to the licensing service over HTTP, like an external client would,
+ * so that every request goes through the controllers, validators, services and exception handlers.
+ */
+class LicenseClient {
+
+    static final int NO_LICENSE = 0;
+
+    private static final String JSON = "application/json";
+    private static final String JSON_PATCH = "application/json-patch+json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String[] LICENSE_TYPES = {"FULL", "PARTIAL"};
+    private static final int BULK_SIZE = 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LoadTestOptions options;
+    private final LicenseKeys licenseKeys;
+    private final List<String> organizationIds;
+
+    // Run scoped prefix of the license ids and product names, so that runs against the same service do not collide
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong createdCount = new AtomicLong();
+
+    LicenseClient(HttpClient httpClient, String baseUrl, LoadTestOptions options, LicenseKeys licenseKeys) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.licenseKeys = licenseKeys;
+        this.organizationIds = IntStream.range(0, options.organizations())
+                .mapToObj(index -> "organization-" + runId + "-" + index)
+                .toList();
+    }
+
+    /**
+     * Creates the preloaded licenses with the bulk endpoint, spread over the organizations.
+     */
+    void preload() throws IOException, InterruptedException {
+        int remaining = options.preload();
+        int organization = 0;
+
+        while (remaining > 0) {
+            int batchSize = Math.min(remaining, BULK_SIZE);
+            String organizationId = organizationIds.get(organization++ % organizationIds.size());
+
+            int status = createLicenses(organizationId, batchSize);
+            if (status != 201) throw new IllegalStateException("Preloading licenses failed with status " + status);
+
+            remaining -= batchSize;
+        }
+    }
+
+    /**
+     * @return The HTTP status of the response, or {@link #NO_LICENSE} if there was no license to operate on.
+     */
+    int execute(Operation operation) throws IOException, InterruptedException {
+
+        return switch (operation) {
+            case CREATE -> create();
+            case BULK -> createLicenses(
+                    organizationIds.get(ThreadLocalRandom.current().nextInt(organizationIds.size())), options.bulkSize());
+            case GET -> get();
+            case LIST -> list();
+            case STREAM -> stream("/all/stream");
+            case RAW -> stream("/all/raw");
+            case PATCH -> patch();
+            case DELETE -> delete();
+        };
+    }
+
+    private int create() throws IOException, InterruptedException {
+        String organizationId = organizationIds.get(ThreadLocalRandom.current().nextInt(organizationIds.size()));
+        String licenseId = nextLicenseId();
+
+        int status = send(request("/organization/" + organizationId + "/license/create")
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(createLicenseRequest(licenseId))));
+        if (status == 201) licenseKeys.add(new LicenseKey(organizationId, licenseId));
+
+        return status;
+    }
+
+    private int createLicenses(String organizationId, int batchSize) throws IOException, InterruptedException {
+        StringJoiner requests = new StringJoiner(",", "[", "]");
+        List<String> licenseIds = new ArrayList<>(batchSize);
+        for (int index = 0; index < batchSize; index++) {
+            String licenseId = nextLicenseId();
+            licenseIds.add(licenseId);
+            requests.add(createLicenseRequest(licenseId));
+        }
+
+        int status = send(request("/organization/" + organizationId + "/license/create/bulk")
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(requests.toString())));
+        if (status == 201) licenseIds.forEach(licenseId -> licenseKeys.add(new LicenseKey(organizationId, licenseId)));
+
+        return status;
+    }
+
+    private int get() throws IOException, InterruptedException {
+        LicenseKey licenseKey = licenseKeys.pick();
+        if (licenseKey == null) return NO_LICENSE;
+
+        return send(request(licensePath(licenseKey)).GET());
+    }
+
+    private int list() throws IOException, InterruptedException {
+        String organizationId = organizationIds.get(ThreadLocalRandom.current().nextInt(organizationIds.size()));
+
+        return send(request("/organization/" + organizationId + "/license/all?size=" + options.pageSize()).GET());
+    }
+
+    private int stream(String endpoint) throws IOException, InterruptedException {
+        String organizationId = organizationIds.get(ThreadLocalRandom.current().nextInt(organizationIds.size()));
+
+        return send(request("/organization/" + organizationId + "/license" + endpoint).setHeader("Accept", NDJSON).GET());
+    }
+
+    private int patch() throws IOException, InterruptedException {
+        LicenseKey licenseKey = licenseKeys.pick();
+        if (licenseKey == null) return NO_LICENSE;
+
+        String jsonPatch = """
+                [{"op": "replace", "path": "/description", "value": "Patched license %d"}]
+                """.formatted(ThreadLocalRandom.current().nextInt(1000));
+
+        return send(request(licensePath(licenseKey))
+                .header("Content-Type", JSON_PATCH)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(jsonPatch)));
+    }
+
+    private int delete() throws IOException, InterruptedException {
+        LicenseKey licenseKey = licenseKeys.take();
+        if (licenseKey == null) return NO_LICENSE;
+
+        return send(request(licensePath(licenseKey)).DELETE());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        String language = options.languages().get(ThreadLocalRandom.current().nextInt(options.languages().size()));
+
+        HttpRequest.Builder builder = options.langParam()
+                ? HttpRequest.newBuilder(URI.create(baseUrl + path + (path.contains("?") ? "&" : "?") + "lang=" + language))
+                : HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Accept-Language", language);
+
+        return builder.header("Accept", JSON).timeout(TIMEOUT);
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String nextLicenseId() {
+        return "license-" + runId + "-" + createdCount.getAndIncrement();
+    }
+
+    private static String licensePath(LicenseKey licenseKey) {
+        return "/organization/" + licenseKey.organizationId() + "/license/" + licenseKey.licenseId();
+    }
+
+    private static String createLicenseRequest(String licenseId) {
+        return """
+                {"licenseId": "%s", "description": "Load test license", "productName": "product-%s", "licenseType": "%s", "comment": "Created by the load test"}
+                """.formatted(licenseId, licenseId, LICENSE_TYPES[ThreadLocalRandom.current().nextInt(LICENSE_TYPES.length)]);
+    }
+}
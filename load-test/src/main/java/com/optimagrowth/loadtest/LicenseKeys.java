@@ -0,0 +1,62 @@
+package com.optimagrowth.loadtest;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The licenses known to exist, picked at random by the get, patch and delete operations.
+ * Licenses are numbered in creation order; a deleted license leaves a hole that the picks skip.
+ */
+class LicenseKeys {
+
+    record LicenseKey(String organizationId, String licenseId) {
+    }
+
+    private static final int PICK_ATTEMPTS = 8;
+
+    private final ConcurrentMap<Long, LicenseKey> keys = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    void add(LicenseKey licenseKey) {
+        keys.put(sequence.getAndIncrement(), licenseKey);
+    }
+
+    /**
+     * @return A random existing license, or null if none was found.
+     */
+    @Nullable
+    LicenseKey pick() {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            LicenseKey licenseKey = keys.get(randomNumber());
+            if (licenseKey != null) return licenseKey;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return A random existing license, no longer picked by the other operations, or null if none was found.
+     */
+    @Nullable
+    LicenseKey take() {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            LicenseKey licenseKey = keys.remove(randomNumber());
+            if (licenseKey != null) return licenseKey;
+        }
+
+        return null;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    private long randomNumber() {
+        long count = sequence.get();
+
+        return count == 0 ? 0 : ThreadLocalRandom.current().nextLong(count);
+    }
+}
@@ -0,0 +1,201 @@
+package com.optimagrowth.loadtest;
+
+import com.optimagrowth.license.LicenseServiceApplication;
+import com.optimagrowth.loadtest.i18n.SessionLocaleConfig;
+import com.optimagrowth.loadtest.inmemory.InMemoryRepositoryConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of the licensing service, runnable offline on a single machine.
+ * <p>
+ * Unless a base-url is given, the licensing service is started in this JVM in the in-memory profile, where the
+ * Mongo LicenseRepository is replaced by {@link com.optimagrowth.loadtest.inmemory.InMemoryLicenseRepository}.
+ * Licenses are preloaded, then a fixed number of clients send a weighted mix of create, get, list, patch and delete
+ * requests in a closed loop (each client waits for its response before sending the next request). The latencies
+ * measured after the warmup are reported with their percentiles, along with the throughput of each operation.
+ * <p>
+ * Eg: java -jar load-test/target/load-test.jar --concurrency=128 --duration=60s --virtual-threads
+ * <p>
+ * The in-memory repository answers at once, so that the request threads never block on I/O. To compare platform
+ * and virtual threads, give a repository-latency: each repository call then holds a connection of a stand-in of
+ * the Mongo pool for that long, sized by the pool settings of the virtual-threads profile when it is active.
+ * <p>
+ * When the service runs in this JVM, the driver shares its CPU and heap: the heap used after the run includes
+ * the driver, which is the same from one run to the other. Use server-only and base-url to run them apart.
+ *
+ * @see LoadTestOptions
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final String VIRTUAL_THREADS = "virtual-threads";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext service = options.baseUrl() == null ? startService(options) : null;
+
+        String baseUrl = options.baseUrl() != null
+                ? options.baseUrl()
+                : "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+        if (options.serverOnly()) {
+            log.info("Licensing service started in the in-memory profile on {}", baseUrl);
+            return;
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LicenseKeys licenseKeys = new LicenseKeys();
+        LicenseClient licenseClient = new LicenseClient(httpClient, baseUrl, options, licenseKeys);
+
+        System.out.printf("Preloading %d licenses over %d organizations%n", options.preload(), options.organizations());
+        licenseClient.preload();
+
+        System.out.printf("Running %s with %d clients: %s warmup, %s measurement, mix %s, %s, requests on %s threads%n",
+                baseUrl, options.concurrency(), options.warmup(), options.duration(), options.mix(),
+                options.langParam() ? "lang parameter" : "Accept-Language", options.virtualThreads() ? "virtual" : "platform");
+        LatencyReport latencyReport = new LatencyReport();
+        Duration elapsed = run(licenseClient, latencyReport, options);
+
+        System.out.println();
+        latencyReport.print(System.out, elapsed, options.output());
+        System.out.printf("%nLicenses known at the end: %d%n", licenseKeys.size());
+
+        if (service != null) {
+            printServiceFootprint(service);
+            service.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(LoadTestOptions options) {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.cloud.bootstrap.enabled", false);
+        properties.put("spring.cloud.config.enabled", false);
+        properties.put("server.port", options.port());
+        properties.put("spring.threads.virtual.enabled", options.virtualThreads());
+        properties.put("load-test.repository-latency", options.repositoryLatency().toString());
+        properties.put("logging.level.root", "WARN");
+
+        List<String> profiles = new ArrayList<>(List.of(InMemoryRepositoryConfig.IN_MEMORY));
+        if (options.sessionLocale()) {
+            profiles.add(SessionLocaleConfig.SESSION_LOCALE);
+        }
+        if (options.virtualThreads()) {
+            profiles.add(VIRTUAL_THREADS);
+            // Served by the config server otherwise, which the in-memory profile does without
+            properties.put("spring.config.import",
+                    "optional:file:" + Path.of(options.configDir(), "licensing-service-" + VIRTUAL_THREADS + ".yml"));
+        }
+        properties.putAll(options.serviceProperties());
+
+        ConfigurableApplicationContext service = new SpringApplicationBuilder(LicenseServiceApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties(properties)
+                .run();
+
+        Environment environment = service.getEnvironment();
+        System.out.printf("Service profiles %s, Tomcat threads %s, repository latency %s, Mongo pool of %s connections"
+                        + " waited for at most %s%n",
+                List.of(environment.getActiveProfiles()),
+                options.virtualThreads() ? "virtual" : environment.getProperty("server.tomcat.threads.max", "200"),
+                options.repositoryLatency(),
+                environment.getProperty("license.mongo.pool.max-size", "100"),
+                environment.getProperty("license.mongo.pool.max-wait-time", "2m"));
+
+        return service;
+    }
+
+    private static Duration run(LicenseClient licenseClient, LatencyReport latencyReport, LoadTestOptions options)
+            throws InterruptedException {
+
+        Operation[] operations = weightedOperations(options);
+        AtomicBoolean running = new AtomicBoolean(true);
+        // Only the requests sent after the warmup are recorded
+        AtomicLong measuredFrom = new AtomicLong(Long.MAX_VALUE);
+
+        List<Thread> clients = new ArrayList<>(options.concurrency());
+        for (int index = 0; index < options.concurrency(); index++) {
+            clients.add(Thread.ofPlatform().name("load-test-client-" + index).start(() -> {
+                while (running.get()) {
+                    Operation operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = licenseClient.execute(operation);
+                    } catch (IOException exception) {
+                        status = -1;
+                    } catch (InterruptedException exception) {
+                        return;
+                    }
+                    if (start >= measuredFrom.get()) latencyReport.record(operation, System.nanoTime() - start, status);
+                }
+            }));
+        }
+
+        Thread.sleep(options.warmup());
+        long start = System.nanoTime();
+        measuredFrom.set(start);
+
+        Thread.sleep(options.duration());
+        running.set(false);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        for (Thread client : clients) client.join();
+
+        return elapsed;
+    }
+
+    /**
+     * @return The operations repeated as many times as their weight, picked uniformly by the clients.
+     */
+    private static Operation[] weightedOperations(LoadTestOptions options) {
+        return options.mix().entrySet().stream()
+                .flatMap(weight -> Collections.nCopies(weight.getValue(), weight.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    private static void printServiceFootprint(ConfigurableApplicationContext service) {
+
+        System.gc();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("Heap used after GC: %.1f MB%n", heapUsed / (1024.0 * 1024.0));
+
+        MeterRegistry meterRegistry = service.getBean(MeterRegistry.class);
+        System.out.printf("HTTP sessions created: %s, active: %s%n",
+                count(meterRegistry.find("tomcat.sessions.created").functionCounter()),
+                gauge(meterRegistry, "tomcat.sessions.active.current"));
+    }
+
+    private static String count(@Nullable FunctionCounter functionCounter) {
+        return functionCounter == null ? "n/a" : String.valueOf((long) functionCounter.count());
+    }
+
+    private static String gauge(MeterRegistry meterRegistry, String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+
+        return gauge == null ? "n/a" : String.valueOf((long) gauge.value());
+    }
+}
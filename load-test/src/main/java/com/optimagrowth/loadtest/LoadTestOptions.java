@@ -0,0 +1,118 @@
+package com.optimagrowth.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Options of the load test, given as --name=value arguments:
+ * <ul>
+ *     <li>mix: weights of the operations among create, bulk, get, list, stream, raw, patch and delete
+ *     (default create:10,get:60,list:15,patch:10,delete:5)</li>
+ *     <li>concurrency: number of clients sending requests in a closed loop (default 64)</li>
+ *     <li>warmup, duration: length of the discarded warmup and of the measurement (default 10s and 30s)</li>
+ *     <li>organizations: number of organizations the licenses are spread over (default 50)</li>
+ *     <li>preload: number of licenses created in bulk before the warmup (default 5000)</li>
+ *     <li>page-size: size of the listed pages (default 20)</li>
+ *     <li>bulk-size: number of licenses created by each bulk operation (default 100)</li>
+ *     <li>languages: languages cycled through by the clients (default en,fr,es)</li>
+ *     <li>lang-param: send the language as the lang query parameter instead of Accept-Language (default false)</li>
+ *     <li>session-locale: resolve the locale with the SessionLocaleResolver the service used before the
+ *     StatelessLocaleResolver, to compare their heap and HTTP sessions (default false)</li>
+ *     <li>virtual-threads: handle the requests on virtual threads, with the settings of the virtual-threads profile
+ *     read from config-dir (default false)</li>
+ *     <li>repository-latency: round trip added to every repository call, behind a stand-in of the Mongo connection
+ *     pool (default 0s, the in-memory repository answers at once)</li>
+ *     <li>config-dir: directory of the licensing-service configuration files
+ *     (default cloud/config-server/src/main/resources/config)</li>
+ *     <li>base-url: drive an already running licensing service instead of starting one in the in-memory profile</li>
+ *     <li>server-only: only start the licensing service in the in-memory profile, to drive it from another process</li>
+ *     <li>port: port of the started licensing service (default 0, a random port)</li>
+ *     <li>output: directory where the latency distribution of each operation is written as .hgrm files</li>
+ * </ul>
+ * Any other --name=value argument is passed as a property to the started licensing service
+ * (eg: --license.cache.maximum-size=0).
+ */
+public record LoadTestOptions(
+        Map<Operation, Integer> mix,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        int organizations,
+        int preload,
+        int pageSize,
+        int bulkSize,
+        List<String> languages,
+        boolean langParam,
+        boolean sessionLocale,
+        boolean virtualThreads,
+        Duration repositoryLatency,
+        String configDir,
+        @Nullable String baseUrl,
+        boolean serverOnly,
+        int port,
+        @Nullable String output,
+        Map<String, Object> serviceProperties
+) {
+
+    private static final String DEFAULT_MIX = "create:10,get:60,list:15,patch:10,delete:5";
+    private static final Set<String> NAMES = Set.of("mix", "concurrency", "warmup", "duration", "organizations",
+            "preload", "page-size", "bulk-size", "languages", "lang-param", "session-locale", "virtual-threads",
+            "repository-latency", "config-dir", "base-url", "server-only", "port", "output");
+
+    public static LoadTestOptions parse(String[] args) {
+
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            int separator = arg.indexOf('=');
+            values.put(separator < 0 ? arg.substring(2) : arg.substring(2, separator),
+                    separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                Integer.parseInt(values.getOrDefault("organizations", "50")),
+                Integer.parseInt(values.getOrDefault("preload", "5000")),
+                Integer.parseInt(values.getOrDefault("page-size", "20")),
+                Integer.parseInt(values.getOrDefault("bulk-size", "100")),
+                List.of(values.getOrDefault("languages", "en,fr,es").split(",")),
+                Boolean.parseBoolean(values.getOrDefault("lang-param", "false")),
+                Boolean.parseBoolean(values.getOrDefault("session-locale", "false")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                DurationStyle.detectAndParse(values.getOrDefault("repository-latency", "0s")),
+                values.getOrDefault("config-dir", "cloud/config-server/src/main/resources/config"),
+                values.get("base-url"),
+                Boolean.parseBoolean(values.getOrDefault("server-only", "false")),
+                Integer.parseInt(values.getOrDefault("port", "0")),
+                values.get("output"),
+                serviceProperties(values));
+    }
+
+    private static Map<String, Object> serviceProperties(Map<String, String> values) {
+
+        Map<String, Object> serviceProperties = new HashMap<>(values);
+        serviceProperties.keySet().removeAll(NAMES);
+
+        return serviceProperties;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] operationWeight = entry.split(":");
+            weights.put(Operation.valueOf(operationWeight[0].trim().toUpperCase()), Integer.parseInt(operationWeight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix " + mix + " has no operation");
+        }
+
+        return weights;
+    }
+}
@@ -0,0 +1,16 @@
+package com.optimagrowth.loadtest;
+
+/**
+ * The license operations driven by the load test, each through the endpoint of the licensing service.
+ */
+public enum Operation {
+
+    CREATE,     // POST   /organization/{organizationId}/license/create
+    BULK,       // POST   /organization/{organizationId}/license/create/bulk with bulk-size licenses
+    GET,        // GET    /organization/{organizationId}/license/{licenseId}
+    LIST,       // GET    /organization/{organizationId}/license/all?size={pageSize}
+    STREAM,     // GET    /organization/{organizationId}/license/all/stream
+    RAW,        // GET    /organization/{organizationId}/license/all/raw
+    PATCH,      // PATCH  /organization/{organizationId}/license/{licenseId}
+    DELETE      // DELETE /organization/{organizationId}/license/{licenseId}
+}
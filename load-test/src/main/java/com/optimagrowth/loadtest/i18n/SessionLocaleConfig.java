@@ -0,0 +1,62 @@
+package com.optimagrowth.loadtest.i18n;
+
+import com.optimagrowth.commonlibrary.core.i18n.StatelessLocaleResolver;
+import io.micrometer.common.lang.NonNullApi;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.servlet.i18n.SessionLocaleResolver;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Puts back, in the session-locale profile, the locale resolution the licensing service had before
+ * {@link StatelessLocaleResolver}: a SessionLocaleResolver, where a LocaleChangeInterceptor stores the locale of the
+ * "lang" query string parameter. Every request with a lang parameter then creates an HTTP session unless the client
+ * sends its session cookie back, which the clients of the load test never do.
+ */
+@NonNullApi
+@Configuration
+@Profile(SessionLocaleConfig.SESSION_LOCALE)
+public class SessionLocaleConfig implements WebMvcConfigurer {
+
+    public static final String SESSION_LOCALE = "session-locale";
+
+    /**
+     * Replaces the StatelessLocaleResolver of the common library, which cannot be overridden by another bean
+     * definition of the same name.
+     *
+     * @return -
+     */
+    @Bean
+    public static BeanPostProcessor sessionLocaleResolverPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME.equals(beanName)) {
+                    return bean;
+                }
+
+                SessionLocaleResolver sessionLocaleResolver = new SessionLocaleResolver();
+                sessionLocaleResolver.setDefaultLocale(Locale.ENGLISH);
+                sessionLocaleResolver.setDefaultTimeZone(TimeZone.getTimeZone("UTC"));
+
+                return sessionLocaleResolver;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        LocaleChangeInterceptor localeChangeInterceptor = new LocaleChangeInterceptor();
+        localeChangeInterceptor.setParamName(StatelessLocaleResolver.DEFAULT_PARAM_NAME);
+
+        registry.addInterceptor(localeChangeInterceptor);
+    }
+}
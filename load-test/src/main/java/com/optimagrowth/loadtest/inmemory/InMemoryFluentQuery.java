@@ -0,0 +1,288 @@
+package com.optimagrowth.loadtest.inmemory;
+
+import com.optimagrowth.license.model.License;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Query by example over the licenses of {@link InMemoryLicenseRepository}, matched the way the Mongo example mapper
+ * builds its criteria: each property of the probe is compared to the stored one, skipped when null unless null values
+ * are included, strings according to the string matcher and case sensitivity of the property.
+ * <p>
+ * Results are ordered by the requested sort, then by id, so that the pages of an unsorted query are stable. Like a
+ * Mongo projection, {@link #project(Collection)} only fills the given properties (and the id), and {@link #as(Class)}
+ * maps each license to an interface projection or to a DTO built from its constructor parameters.
+ *
+ * @param <S> The probe type
+ * @param <R> The result type
+ */
+class InMemoryFluentQuery<S extends License, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+    private static final String ID = "id";
+    private static final List<String> PROPERTIES = List.of(ID, "licenseId", "description", "organizationId",
+            "productName", "licenseType", "comment", "createAt", "updateAt", "version");
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private final Example<S> example;
+    private final Supplier<Stream<License>> licenses;
+    private final Sort sort;
+    private final int limit;
+    private final Set<String> projection;
+    private final Function<Object, R> mapper;
+
+    private InMemoryFluentQuery(Example<S> example, Supplier<Stream<License>> licenses, Sort sort, int limit,
+                                Set<String> projection, Function<Object, R> mapper) {
+        this.example = example;
+        this.licenses = licenses;
+        this.sort = sort;
+        this.limit = limit;
+        this.projection = projection;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param example The example to match
+     * @param licenses Copies of the stored licenses, read anew by each terminal operation of the query
+     */
+    static <S extends License> InMemoryFluentQuery<S, S> of(Example<S> example, Supplier<Stream<License>> licenses) {
+        Class<S> probeType = example.getProbeType();
+
+        return new InMemoryFluentQuery<>(example, licenses, Sort.unsorted(), 0, Set.of(), probeType::cast);
+    }
+
+    /**
+     * @return The licenses ordered by the sort, then by id
+     */
+    static Comparator<License> comparator(Sort sort) {
+        Comparator<License> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<License> propertyComparator = Comparator.comparing(
+                    license -> comparable(property(license, order.getProperty()), order.isIgnoreCase()),
+                    nullsFirstWhenAscending(order));
+            comparator = comparator.thenComparing(order.isAscending() ? propertyComparator : propertyComparator.reversed());
+        }
+
+        return comparator.thenComparing(License::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    @Override
+    public FetchableFluentQuery<R> sortBy(Sort sort) {
+        return new InMemoryFluentQuery<>(example, licenses, this.sort.and(sort), limit, projection, mapper);
+    }
+
+    @Override
+    public FetchableFluentQuery<R> limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative");
+
+        return new InMemoryFluentQuery<>(example, licenses, sort, limit, projection, mapper);
+    }
+
+    @Override
+    public <T> FetchableFluentQuery<T> as(Class<T> resultType) {
+        return new InMemoryFluentQuery<>(example, licenses, sort, limit, projection, mapper(resultType));
+    }
+
+    @Override
+    public FetchableFluentQuery<R> project(Collection<String> properties) {
+        return new InMemoryFluentQuery<>(example, licenses, sort, limit, Set.copyOf(properties), mapper);
+    }
+
+    @Override
+    public R oneValue() {
+        List<R> results = limited(2).toList();
+        if (results.size() > 1) throw new IncorrectResultSizeDataAccessException(1, results.size());
+
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    @Override
+    public R firstValue() {
+        return limited(1).findFirst().orElse(null);
+    }
+
+    @Override
+    public List<R> all() {
+        return stream().toList();
+    }
+
+    @Override
+    public Page<R> page(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<R> content = sortBy(pageable.getSort()).all();
+
+            return PageableExecutionUtils.getPage(content, pageable, content::size);
+        }
+
+        List<License> matches = matches(sort.and(pageable.getSort())).toList();
+        List<R> content = matches.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(this::result)
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, matches::size);
+    }
+
+    @Override
+    public Stream<R> stream() {
+        return limited(limit);
+    }
+
+    @Override
+    public long count() {
+        return matches(Sort.unsorted()).count();
+    }
+
+    @Override
+    public boolean exists() {
+        return matches(Sort.unsorted()).findAny().isPresent();
+    }
+
+    private Stream<R> limited(int max) {
+        Stream<License> matches = matches(sort);
+
+        return (max > 0 ? matches.limit(max) : matches).map(this::result);
+    }
+
+    private Stream<License> matches(Sort sort) {
+        ExampleMatcher matcher = example.getMatcher();
+        S probe = example.getProbe();
+
+        return licenses.get()
+                .filter(example.getProbeType()::isInstance)
+                .filter(license -> matches(probe, license, matcher))
+                .sorted(comparator(sort));
+    }
+
+    /**
+     * @return Whether the stored license matches all or any of the compared properties, or whether nothing is compared
+     */
+    private static boolean matches(Object probe, License license, ExampleMatcher matcher) {
+        List<Boolean> compared = PROPERTIES.stream()
+                .map(property -> matches(probe, license, property, matcher))
+                .flatMap(Optional::stream)
+                .toList();
+
+        return compared.isEmpty() || (matcher.isAllMatching() ? !compared.contains(false) : compared.contains(true));
+    }
+
+    private R result(License license) {
+        if (projection.isEmpty()) return mapper.apply(license);
+
+        License projected = BeanUtils.instantiateClass(license.getClass());
+        BeanWrapper source = new DirectFieldAccessFallbackBeanWrapper(license);
+        BeanWrapper target = new DirectFieldAccessFallbackBeanWrapper(projected);
+        for (String property : PROPERTIES) {
+            if (ID.equals(property) || projection.contains(property)) {
+                target.setPropertyValue(property, source.getPropertyValue(property));
+            }
+        }
+
+        return mapper.apply(projected);
+    }
+
+    /**
+     * @return Whether the stored license matches the probe on the property, empty when the property is not compared
+     */
+    private static Optional<Boolean> matches(Object probe, License license, String property, ExampleMatcher matcher) {
+        if (matcher.isIgnoredPath(property)) return Optional.empty();
+
+        ExampleMatcher.PropertySpecifier specifier = matcher.getPropertySpecifiers().getForPath(property);
+        Optional<Object> probeValue = Optional.ofNullable(property(probe, property));
+        if (specifier != null) probeValue = specifier.transformValue(probeValue);
+
+        Object value = property(license, property);
+        if (probeValue.isEmpty()) {
+            return matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE ? Optional.of(value == null) : Optional.empty();
+        }
+        if (!(probeValue.get() instanceof String expected)) return Optional.of(probeValue.get().equals(value));
+        if (!(value instanceof String actual)) return Optional.of(false);
+
+        ExampleMatcher.StringMatcher stringMatcher = specifier == null || specifier.getStringMatcher() == null
+                ? matcher.getDefaultStringMatcher() : specifier.getStringMatcher();
+        boolean ignoreCase = specifier == null || specifier.getIgnoreCase() == null
+                ? matcher.isIgnoreCaseEnabled() : specifier.getIgnoreCase();
+
+        return Optional.of(matches(expected, actual, stringMatcher, ignoreCase));
+    }
+
+    private static boolean matches(String expected, String actual, ExampleMatcher.StringMatcher stringMatcher, boolean ignoreCase) {
+        if (stringMatcher == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(expected, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0)
+                    .matcher(actual).find();
+        }
+
+        String value = ignoreCase ? actual.toLowerCase(Locale.ROOT) : actual;
+        String probe = ignoreCase ? expected.toLowerCase(Locale.ROOT) : expected;
+
+        return switch (stringMatcher) {
+            case DEFAULT, EXACT -> value.equals(probe);
+            case STARTING -> value.startsWith(probe);
+            case ENDING -> value.endsWith(probe);
+            case CONTAINING -> value.contains(probe);
+            case REGEX -> throw new IllegalStateException("Regular expressions are matched above");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Function<Object, T> mapper(Class<T> resultType) {
+        if (resultType.isAssignableFrom(License.class)) return resultType::cast;
+        if (resultType.isInterface()) return license -> PROJECTION_FACTORY.createProjection(resultType, license);
+
+        Constructor<T> constructor = BeanUtils.getResolvableConstructor(resultType);
+        String[] parameterNames = BeanUtils.getParameterNames(constructor);
+
+        return license -> {
+            BeanWrapper source = new DirectFieldAccessFallbackBeanWrapper(license);
+            Object[] arguments = Arrays.stream(parameterNames)
+                    .map(name -> source.isReadableProperty(name) ? source.getPropertyValue(name) : null)
+                    .toArray();
+
+            return (T) BeanUtils.instantiateClass(constructor, arguments);
+        };
+    }
+
+    @Nullable
+    private static Object property(Object license, String property) {
+        return new DirectFieldAccessFallbackBeanWrapper(license).getPropertyValue(property);
+    }
+
+    @Nullable
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Comparable comparable(@Nullable Object value, boolean ignoreCase) {
+        if (value instanceof String string && ignoreCase) return string.toLowerCase(Locale.ROOT);
+
+        return (Comparable) value;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Comparator<Comparable> nullsFirstWhenAscending(Sort.Order order) {
+        Comparator<Comparable> naturalOrder = Comparator.naturalOrder();
+
+        // Mongo sorts null values before any other, so first in an ascending order and last in a descending one
+        return switch (order.getNullHandling()) {
+            case NULLS_FIRST -> order.isAscending() ? Comparator.nullsFirst(naturalOrder) : Comparator.nullsLast(naturalOrder);
+            case NULLS_LAST -> order.isAscending() ? Comparator.nullsLast(naturalOrder) : Comparator.nullsFirst(naturalOrder);
+            case NATIVE -> Comparator.nullsFirst(naturalOrder);
+        };
+    }
+}
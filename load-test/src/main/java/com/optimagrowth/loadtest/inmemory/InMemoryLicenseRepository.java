@@ -0,0 +1,518 @@
+package com.optimagrowth.loadtest.inmemory;
+
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseChanges;
+import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent in-memory stand-in of the Mongo {@link LicenseRepository}, reproducing what the services rely on:
+ * ObjectId ids, the creation and update dates of the MongoListener, optimistic locking on the version,
+ * the unique licenseId and productName indexes, the pages of an organization ordered by id, and the conditional
+ * updates and deletes of the custom fragment.
+ * <p>
+ * Stored licenses are never mutated, every read returns a copy like a Mongo read would. Reads are lock free;
+ * writes are serialized by a lock (not a monitor, so that virtual threads are not pinned) to keep the unique
+ * indexes consistent.
+ * The query by example and paging and sorting methods, unused by the service, are answered by
+ * {@link InMemoryFluentQuery} from copies of every stored license.
+ */
+public class InMemoryLicenseRepository implements LicenseRepository {
+
+    // Mongo E11000, mapped to ErrorCategory.DUPLICATE_KEY like a real unordered bulk insert
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final ConcurrentMap<String, License> licensesById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByLicenseId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsByProductName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<String>> idsByOrganizationId = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Derived queries
+
+    @Override
+    public boolean existsByLicenseId(String licenseId) {
+        return idsByLicenseId.containsKey(licenseId);
+    }
+
+    @Override
+    public boolean existsByProductName(String productName) {
+        return idsByProductName.containsKey(productName);
+    }
+
+    @Override
+    public boolean existsByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+        return findStored(licenseId, organizationId) != null;
+    }
+
+    @Override
+    public Optional<License> findByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+        return Optional.ofNullable(findStored(licenseId, organizationId)).map(InMemoryLicenseRepository::copy);
+    }
+
+    @Override
+    public Optional<LicenseSummary> findSummaryByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+        return Optional.ofNullable(findStored(licenseId, organizationId)).map(InMemoryLicenseRepository::summary);
+    }
+
+    @Override
+    public Optional<String> deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+        writeLock.lock();
+        try {
+            License stored = findStored(licenseId, organizationId);
+            if (stored == null) return Optional.empty();
+
+            remove(stored);
+            return Optional.of(stored.getId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<LicenseSummary> findByOrganizationIdOrderByIdAsc(String organizationId, Limit limit) {
+        return page(organizationIds(organizationId), limit);
+    }
+
+    @Override
+    public List<LicenseSummary> findByOrganizationIdAndIdGreaterThanOrderByIdAsc(String organizationId, String id, Limit limit) {
+        return page(organizationIds(organizationId).tailSet(id, false), limit);
+    }
+
+    @Override
+    public Stream<LicenseSummary> streamAllByOrganizationId(String organizationId) {
+        return organizationIds(organizationId).stream()
+                .map(licensesById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryLicenseRepository::summary);
+    }
+
+    @Override
+    public Stream<License> streamAllLicenseKeysBy() {
+        return licensesById.values().stream()
+                .map(license -> License.builder()
+                        .licenseId(license.getLicenseId())
+                        .productName(license.getProductName())
+                        .build());
+    }
+
+    @Override
+    public List<License> findLicenseIdsIn(Collection<String> licenseIds) {
+        return licenseIds.stream()
+                .filter(idsByLicenseId::containsKey)
+                .map(licenseId -> License.builder().licenseId(licenseId).build())
+                .toList();
+    }
+
+    @Override
+    public List<License> findProductNamesIn(Collection<String> productNames) {
+        return productNames.stream()
+                .filter(idsByProductName::containsKey)
+                .map(productName -> License.builder().productName(productName).build())
+                .toList();
+    }
+
+    // Custom fragment
+
+    @Override
+    public Map<Integer, Integer> insertUnordered(List<License> licenses) {
+        Map<Integer, Integer> errorCodes = new HashMap<>();
+
+        writeLock.lock();
+        try {
+            for (int index = 0; index < licenses.size(); index++) {
+                License license = licenses.get(index);
+                if (licensesById.containsKey(license.getId()) || isTaken(license, license.getId())) {
+                    errorCodes.put(index, DUPLICATE_KEY_ERROR_CODE);
+                    continue;
+                }
+
+                license.setCreateAt(LocalDateTime.now());
+                license.setUpdateAt(license.getCreateAt());
+                store(null, copy(license));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        return errorCodes;
+    }
+
+    @Override
+    public Optional<License> applyChanges(String licenseId, String organizationId,
+                                          @Nullable LicenseVersion expectedVersion, LicenseChanges licenseChanges) {
+        writeLock.lock();
+        try {
+            License stored = findStored(licenseId, organizationId);
+            if (stored == null || !hasVersion(stored, expectedVersion)) return Optional.empty();
+
+            License changed = copy(stored);
+            licenseChanges.set().forEach((field, value) -> setField(changed, field, value));
+            licenseChanges.unset().forEach(field -> setField(changed, field, null));
+            changed.setUpdateAt(LocalDateTime.now());
+            changed.setVersion(nextVersion(stored));
+
+            if (isTaken(changed, stored.getId())) throw duplicateKey(changed);
+
+            store(stored, changed);
+            return Optional.of(copy(changed));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long deleteVersion(String licenseId, String organizationId, LicenseVersion expectedVersion) {
+        writeLock.lock();
+        try {
+            License stored = findStored(licenseId, organizationId);
+            if (stored == null || !hasVersion(stored, expectedVersion)) return 0;
+
+            remove(stored);
+            return 1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        return 0;
+    }
+
+    @Override
+    public Stream<RawBsonDocument> streamRawByOrganizationId(String organizationId) {
+        return organizationIds(organizationId).stream()
+                .map(licensesById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryLicenseRepository::rawLicenseResponse);
+    }
+
+    // CRUD
+
+    @Override
+    public <S extends License> S save(S entity) {
+        writeLock.lock();
+        try {
+            License stored = entity.getId() == null ? null : licensesById.get(entity.getId());
+
+            if (entity.getVersion() != null && (stored == null || !entity.getVersion().equals(stored.getVersion()))) {
+                throw new OptimisticLockingFailureException(
+                        "Cannot save license " + entity.getId() + " with version " + entity.getVersion()
+                                + ", it was modified or deleted");
+            }
+            if (isTaken(entity, entity.getId())) throw duplicateKey(entity);
+
+            if (entity.getId() == null) entity.setId(new ObjectId().toHexString());
+            if (stored == null) {
+                entity.setCreateAt(LocalDateTime.now());
+                entity.setUpdateAt(entity.getCreateAt());
+            } else entity.setUpdateAt(LocalDateTime.now());
+            entity.setVersion(stored == null ? 0L : nextVersion(stored));
+
+            store(stored, copy(entity));
+            return entity;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public <S extends License> List<S> saveAll(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false).map(this::save).toList();
+    }
+
+    @Override
+    public <S extends License> S insert(S entity) {
+        if (entity.getId() != null && licensesById.containsKey(entity.getId())) throw duplicateKey(entity);
+
+        return save(entity);
+    }
+
+    @Override
+    public <S extends License> List<S> insert(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false).map(this::insert).toList();
+    }
+
+    @Override
+    public Optional<License> findById(String id) {
+        return Optional.ofNullable(licensesById.get(id)).map(InMemoryLicenseRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return licensesById.containsKey(id);
+    }
+
+    @Override
+    public List<License> findAll() {
+        return licensesById.values().stream().map(InMemoryLicenseRepository::copy).toList();
+    }
+
+    @Override
+    public List<License> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(licensesById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryLicenseRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return licensesById.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        writeLock.lock();
+        try {
+            License stored = licensesById.get(id);
+            if (stored != null) remove(stored);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(License entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends License> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            idsByLicenseId.clear();
+            idsByProductName.clear();
+            idsByOrganizationId.clear();
+            licensesById.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Paging, sorting and query by example, unused by the service
+
+    @Override
+    public List<License> findAll(Sort sort) {
+        return findAll(Example.of(new License()), sort);
+    }
+
+    @Override
+    public Page<License> findAll(Pageable pageable) {
+        return findAll(Example.of(new License()), pageable);
+    }
+
+    @Override
+    public <S extends License> Optional<S> findOne(Example<S> example) {
+        return query(example).first();
+    }
+
+    @Override
+    public <S extends License> List<S> findAll(Example<S> example) {
+        return query(example).all();
+    }
+
+    @Override
+    public <S extends License> List<S> findAll(Example<S> example, Sort sort) {
+        return query(example).sortBy(sort).all();
+    }
+
+    @Override
+    public <S extends License> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return query(example).page(pageable);
+    }
+
+    @Override
+    public <S extends License> long count(Example<S> example) {
+        return query(example).count();
+    }
+
+    @Override
+    public <S extends License> boolean exists(Example<S> example) {
+        return query(example).exists();
+    }
+
+    @Override
+    public <S extends License, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(query(example));
+    }
+
+    private <S extends License> InMemoryFluentQuery<S, S> query(Example<S> example) {
+        return InMemoryFluentQuery.of(example, () -> licensesById.values().stream().map(InMemoryLicenseRepository::copy));
+    }
+
+    @Nullable
+    private License findStored(String licenseId, String organizationId) {
+        String id = idsByLicenseId.get(licenseId);
+        License stored = id == null ? null : licensesById.get(id);
+
+        return stored != null && organizationId.equals(stored.getOrganizationId()) ? stored : null;
+    }
+
+    private NavigableSet<String> organizationIds(String organizationId) {
+        return idsByOrganizationId.getOrDefault(organizationId, Collections.emptyNavigableSet());
+    }
+
+    private List<LicenseSummary> page(NavigableSet<String> ids, Limit limit) {
+        int max = limit.isUnlimited() ? Integer.MAX_VALUE : limit.max();
+
+        return ids.stream()
+                .map(licensesById::get)
+                .filter(Objects::nonNull)
+                .limit(max)
+                .map(InMemoryLicenseRepository::summary)
+                .toList();
+    }
+
+    /**
+     * @return Whether another license than the one with the given id already has the licenseId or productName.
+     */
+    private boolean isTaken(License license, @Nullable String id) {
+        String licenseIdOwner = license.getLicenseId() == null ? null : idsByLicenseId.get(license.getLicenseId());
+        String productNameOwner = license.getProductName() == null ? null : idsByProductName.get(license.getProductName());
+
+        return (licenseIdOwner != null && !licenseIdOwner.equals(id))
+                || (productNameOwner != null && !productNameOwner.equals(id));
+    }
+
+    private static boolean hasVersion(License license, @Nullable LicenseVersion expectedVersion) {
+        return expectedVersion == null
+                || (expectedVersion.id().equals(license.getId()) && Objects.equals(expectedVersion.version(), license.getVersion()));
+    }
+
+    private static long nextVersion(License license) {
+        return license.getVersion() == null ? 1L : license.getVersion() + 1;
+    }
+
+    /**
+     * Stores the new state of a license. The license is written before its index entries, and the entries of its
+     * previous keys are removed after, so that a lock free read going through an index never misses a license
+     * that exists.
+     */
+    private void store(@Nullable License previous, License license) {
+        licensesById.put(license.getId(), license);
+
+        if (license.getLicenseId() != null) idsByLicenseId.put(license.getLicenseId(), license.getId());
+        if (license.getProductName() != null) idsByProductName.put(license.getProductName(), license.getId());
+        if (license.getOrganizationId() != null) {
+            idsByOrganizationId.computeIfAbsent(license.getOrganizationId(), organizationId -> new ConcurrentSkipListSet<>())
+                    .add(license.getId());
+        }
+
+        if (previous == null) return;
+        if (previous.getLicenseId() != null && !previous.getLicenseId().equals(license.getLicenseId())) {
+            idsByLicenseId.remove(previous.getLicenseId(), previous.getId());
+        }
+        if (previous.getProductName() != null && !previous.getProductName().equals(license.getProductName())) {
+            idsByProductName.remove(previous.getProductName(), previous.getId());
+        }
+        if (previous.getOrganizationId() != null && !previous.getOrganizationId().equals(license.getOrganizationId())) {
+            organizationIds(previous.getOrganizationId()).remove(previous.getId());
+        }
+    }
+
+    private void remove(License license) {
+        if (license.getLicenseId() != null) idsByLicenseId.remove(license.getLicenseId(), license.getId());
+        if (license.getProductName() != null) idsByProductName.remove(license.getProductName(), license.getId());
+        if (license.getOrganizationId() != null) organizationIds(license.getOrganizationId()).remove(license.getId());
+        licensesById.remove(license.getId());
+    }
+
+    private static void setField(License license, String field, @Nullable Object value) {
+        switch (field) {
+            case "licenseId" -> license.setLicenseId((String) value);
+            case "description" -> license.setDescription((String) value);
+            case "productName" -> license.setProductName((String) value);
+            case "licenseType" -> license.setLicenseType((LicenseType) value);
+            case "comment" -> license.setComment((String) value);
+            default -> throw new IllegalArgumentException("Unknown license field " + field);
+        }
+    }
+
+    private static DuplicateKeyException duplicateKey(License license) {
+        return new DuplicateKeyException("E11000 duplicate key error, licenseId: " + license.getLicenseId()
+                + ", productName: " + license.getProductName());
+    }
+
+    private static License copy(License license) {
+        License copy = License.builder()
+                .licenseId(license.getLicenseId())
+                .description(license.getDescription())
+                .organizationId(license.getOrganizationId())
+                .productName(license.getProductName())
+                .licenseType(license.getLicenseType())
+                .comment(license.getComment())
+                .build();
+        copy.setId(license.getId());
+        copy.setCreateAt(license.getCreateAt());
+        copy.setUpdateAt(license.getUpdateAt());
+        copy.setVersion(license.getVersion());
+
+        return copy;
+    }
+
+    private static LicenseSummary summary(License license) {
+        return new LicenseSummary(license.getId(), license.getLicenseId(), license.getDescription(),
+                license.getOrganizationId(), license.getProductName(), license.getLicenseType(), license.getComment(),
+                license.getVersion());
+    }
+
+    // The document the LicenseJsonProjections of the Mongo fragment reshape a license into
+    private static RawBsonDocument rawLicenseResponse(License license) {
+        BsonDocument licenseResponse = new BsonDocument("id", new BsonString(license.getId()))
+                .append("licenseId", string(license.getLicenseId()))
+                .append("description", string(license.getDescription()))
+                .append("organizationId", string(license.getOrganizationId()))
+                .append("productName", string(license.getProductName()))
+                .append("licenseType", string(license.getLicenseType() == null ? null : license.getLicenseType().name()))
+                .append("comment", string(license.getComment()))
+                .append("version", license.getVersion() == null ? BsonNull.VALUE : new BsonInt64(license.getVersion()));
+
+        return new RawBsonDocument(licenseResponse, new BsonDocumentCodec());
+    }
+
+    private static BsonValue string(@Nullable String value) {
+        return value == null ? BsonNull.VALUE : new BsonString(value);
+    }
+}
@@ -0,0 +1,32 @@
+package com.optimagrowth.loadtest.inmemory;
+
+import com.optimagrowth.license.repository.LicenseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Replaces the Mongo LicenseRepository by {@link InMemoryLicenseRepository} in the in-memory profile, where the Mongo
+ * client and repositories are not configured at all (see application-in-memory.yml).
+ * With a load-test.repository-latency, the repository is put behind {@link LatentLicenseRepository}, sized by the
+ * same pool properties as the Mongo client.
+ */
+@Configuration
+@Profile(InMemoryRepositoryConfig.IN_MEMORY)
+public class InMemoryRepositoryConfig {
+
+    public static final String IN_MEMORY = "in-memory";
+
+    @Bean
+    public LicenseRepository licenseRepository(@Value("${load-test.repository-latency:0s}") Duration latency,
+                                               @Value("${license.mongo.pool.max-size:100}") int maxSize,
+                                               @Value("${license.mongo.pool.max-wait-time:2m}") Duration maxWaitTime) {
+
+        LicenseRepository licenseRepository = new InMemoryLicenseRepository();
+
+        return latency.isZero() ? licenseRepository : LatentLicenseRepository.of(licenseRepository, latency, maxSize, maxWaitTime);
+    }
+}
@@ -0,0 +1,67 @@
+package com.optimagrowth.loadtest.inmemory;
+
+import com.mongodb.MongoTimeoutException;
+import com.optimagrowth.license.repository.LicenseRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in of the Mongo round trips and connection pool in front of {@link InMemoryLicenseRepository}, so that the
+ * requests block on I/O like they do against a real server: every repository call first takes a connection out of
+ * a pool of license.mongo.pool.max-size connections, waiting at most license.mongo.pool.max-wait-time like the Mongo
+ * driver, then sleeps for the latency of a round trip before being run.
+ * <p>
+ * The connection is given back once the call returns, streams included, so that a stream costs a single round trip.
+ */
+public class LatentLicenseRepository implements InvocationHandler {
+
+    private final LicenseRepository licenseRepository;
+    private final Duration latency;
+    private final Duration maxWaitTime;
+    private final Semaphore connections;
+
+    private LatentLicenseRepository(LicenseRepository licenseRepository, Duration latency, int maxSize, Duration maxWaitTime) {
+        this.licenseRepository = licenseRepository;
+        this.latency = latency;
+        this.maxWaitTime = maxWaitTime;
+        this.connections = new Semaphore(maxSize, true);
+    }
+
+    public static LicenseRepository of(LicenseRepository licenseRepository, Duration latency, int maxSize, Duration maxWaitTime) {
+        return (LicenseRepository) Proxy.newProxyInstance(
+                LicenseRepository.class.getClassLoader(),
+                new Class<?>[]{LicenseRepository.class},
+                new LatentLicenseRepository(licenseRepository, latency, maxSize, maxWaitTime));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        if (method.getDeclaringClass() == Object.class) return invoke(method, args);
+
+        if (!connections.tryAcquire(maxWaitTime.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new MongoTimeoutException("Timed out after " + maxWaitTime + " while waiting for a connection");
+        }
+        try {
+            Thread.sleep(latency);
+
+            return invoke(method, args);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(licenseRepository, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.optimagrowth.license.codec;
+
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.model.License;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Hand-written BSON codec of License, reading and writing the documents of the license collection field by field,
+ * without reflection. The documents are the same as the ones of the Spring Data mapping: same field names and
+ * order, null fields left out, valid ObjectId strings stored as ObjectIds, dates in the system time zone and the
+ * _class type hint.
+ * <p>
+ * Registered with the Mongo client for the driver level reads and writes of licenses, and used by the
+ * {@link LicenseConverters} for the Spring Data operations: the only mapping of License to BSON, a field added to
+ * License must be added here.
+ */
+public class LicenseCodec implements Codec<License> {
+
+    public static final String ID = "_id";
+    public static final String LICENSE_ID = "licenseId";
+    public static final String DESCRIPTION = "description";
+    public static final String ORGANIZATION_ID = "organizationId";
+    public static final String PRODUCT_NAME = "productName";
+    public static final String LICENSE_TYPE = "licenseType";
+    public static final String COMMENT = "comment";
+    public static final String CREATE_AT = "createAt";
+    public static final String UPDATE_AT = "updateAt";
+    public static final String VERSION = "version";
+    public static final String TYPE_KEY = "_class";
+    public static final String TYPE_HINT = License.class.getName();
+
+    @Override
+    public void encode(BsonWriter writer, License license, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+
+        if (license.getId() != null) {
+            writer.writeName(ID);
+            if (ObjectId.isValid(license.getId())) writer.writeObjectId(new ObjectId(license.getId()));
+            else writer.writeString(license.getId());
+        }
+        writeString(writer, LICENSE_ID, license.getLicenseId());
+        writeString(writer, DESCRIPTION, license.getDescription());
+        writeString(writer, ORGANIZATION_ID, license.getOrganizationId());
+        writeString(writer, PRODUCT_NAME, license.getProductName());
+        if (license.getLicenseType() != null) writer.writeString(LICENSE_TYPE, license.getLicenseType().name());
+        writeString(writer, COMMENT, license.getComment());
+        if (license.getCreateAt() != null) writer.writeDateTime(CREATE_AT, toEpochMilli(license.getCreateAt()));
+        if (license.getUpdateAt() != null) writer.writeDateTime(UPDATE_AT, toEpochMilli(license.getUpdateAt()));
+        if (license.getVersion() != null) writer.writeInt64(VERSION, license.getVersion());
+        writer.writeString(TYPE_KEY, TYPE_HINT);
+
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public License decode(BsonReader reader, DecoderContext decoderContext) {
+        License license = new License();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+
+            switch (name) {
+                case ID -> license.setId(reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString());
+                case LICENSE_ID -> license.setLicenseId(reader.readString());
+                case DESCRIPTION -> license.setDescription(reader.readString());
+                case ORGANIZATION_ID -> license.setOrganizationId(reader.readString());
+                case PRODUCT_NAME -> license.setProductName(reader.readString());
+                case LICENSE_TYPE -> license.setLicenseType(LicenseType.valueOf(reader.readString()));
+                case COMMENT -> license.setComment(reader.readString());
+                case CREATE_AT -> license.setCreateAt(toLocalDateTime(reader.readDateTime()));
+                case UPDATE_AT -> license.setUpdateAt(toLocalDateTime(reader.readDateTime()));
+                case VERSION -> license.setVersion(readLong(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        return license;
+    }
+
+    @Override
+    public Class<License> getEncoderClass() {
+        return License.class;
+    }
+
+    private static long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) writer.writeString(name, value);
+    }
+
+    private static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> reader.readInt64();
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.optimagrowth.license.codec;
+
+import com.mongodb.MongoClientSettings;
+import com.optimagrowth.license.model.License;
+import io.micrometer.common.lang.NonNullApi;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.List;
+
+/**
+ * Spring Data converters of License, registered as custom conversions so that the repositories and templates
+ * map licenses with the {@link LicenseCodec} instead of the reflective mapping. The codec is the only mapping of
+ * License to BSON: the converters encode and decode through it, so that the driver level and the Spring Data
+ * operations always read and write the same documents.
+ * <p>
+ * Mapping metadata is still used for everything else: ids, versions, indexes and queries.
+ */
+public abstract class LicenseConverters {
+
+    private static final LicenseCodec LICENSE_CODEC = new LicenseCodec();
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(LicenseWritingConverter.INSTANCE, LicenseReadingConverter.INSTANCE);
+    }
+
+    @NonNullApi
+    @WritingConverter
+    public enum LicenseWritingConverter implements Converter<License, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(License license) {
+            BsonDocument document = new BsonDocument();
+            LICENSE_CODEC.encode(new BsonDocumentWriter(document), license, ENCODER_CONTEXT);
+
+            return DOCUMENT_CODEC.decode(new BsonDocumentReader(document), DECODER_CONTEXT);
+        }
+    }
+
+    /**
+     * Reads whole documents as well as the projections of the repository, the fields left out remain null.
+     */
+    @NonNullApi
+    @ReadingConverter
+    public enum LicenseReadingConverter implements Converter<Document, License> {
+        INSTANCE;
+
+        @Override
+        public License convert(Document document) {
+            BsonDocument bsonDocument = document.toBsonDocument(Document.class, CODEC_REGISTRY);
+
+            return LICENSE_CODEC.decode(new BsonDocumentReader(bsonDocument), DECODER_CONTEXT);
+        }
+    }
+}
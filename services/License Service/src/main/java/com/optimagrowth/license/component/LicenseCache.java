@@ -0,0 +1,169 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import com.optimagrowth.license.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of licenses keyed by (organizationId, licenseId), holding the fields of the license responses.
+ * Cached licenses are shared between requests and must never be modified by callers.
+ * Licenses are loaded from the primary, unlike the other reads of the query side, so that a license evicted
+ * after a change is never cached again from a lagging secondary.
+ * <p>
+ * Every eviction increments the invalidation generation of its key, striped over a fixed number of counters.
+ * A load caches the license it read, then evicts it again if the generation changed meanwhile: the license may have
+ * been read before the change, and the eviction of the change may have run before the put.
+ * <p>
+ * The cache keys of the cached licenses are kept by document id in LicenseCacheKeys, so that a license can be evicted
+ * by its document id alone. Such an eviction also drops the licenses being loaded meanwhile once loaded, as their
+ * document id is not known before they are read.
+ */
+@Component
+public class LicenseCache {
+
+    public static final String LICENSES = "licenses";
+    public static final List<String> CACHE_NAMES = List.of(LICENSES);
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final LicenseCacheKeys licenseCacheKeys;
+    private final LicenseRepository licenseRepository;
+    private final SingleFlight<String, Optional<LicenseSummary>> licenseLoads;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong idEvictions = new AtomicLong();
+
+    public LicenseCache(CacheManager cacheManager, LicenseCacheKeys licenseCacheKeys,
+                        LicenseRepository licenseRepository, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.licenseCacheKeys = licenseCacheKeys;
+        this.licenseRepository = licenseRepository;
+        this.licenseLoads = new SingleFlight<>(LICENSES, meterRegistry);
+    }
+
+    /**
+     * Retrieves a license from the cache, loading it from the repository on a miss.
+     * Concurrent misses of the same license share a single repository call.
+     * Absent licenses are not cached, so that a license created afterwards is visible at once.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @return The license if it exists.
+     */
+    public Optional<LicenseSummary> findLicense(String licenseId, String organizationId) {
+
+        String key = key(licenseId, organizationId);
+        Cache licenses = cacheManager.getCache(LICENSES);
+        LicenseSummary cachedLicense = licenses == null ? null : licenses.get(key, LicenseSummary.class);
+        if (cachedLicense != null) return Optional.of(cachedLicense);
+
+        return licenseLoads.execute(key, () -> load(licenses, key, licenseId, organizationId));
+    }
+
+    /**
+     * Evicts a cached license by its key, and the license being loaded if any once its load completes.
+     * Meant to be called once the license has changed in the repository.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     */
+    public void evict(String licenseId, String organizationId) {
+        evict(key(licenseId, organizationId));
+    }
+
+    /**
+     * Evicts a cached license by its document id, when its key is not known, and the licenses being loaded if any
+     * once their load completes. Only the license and the loads in flight are affected, the other cached licenses
+     * are kept.
+     *
+     * @param id The document id of the license.
+     */
+    public void evictById(String id) {
+        idEvictions.incrementAndGet();
+
+        String key = licenseCacheKeys.remove(id);
+        if (key != null) evict(key);
+    }
+
+    /**
+     * Evicts all the cached licenses.
+     */
+    public void clear() {
+        invalidateAllGenerations();
+
+        Cache licenses = cacheManager.getCache(LICENSES);
+        if (licenses != null) licenses.clear();
+        licenseCacheKeys.clear();
+    }
+
+    /**
+     * Changes the time after which a cached license expires once written, cached licenses included.
+     *
+     * @param timeToLive The new time to live.
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> licenses = nativeCache();
+        if (licenses != null) {
+            licenses.policy().expireAfterWrite().ifPresent(expiration -> expiration.setExpiresAfter(timeToLive));
+        }
+    }
+
+    private Optional<LicenseSummary> load(@Nullable Cache licenses, String key, String licenseId, String organizationId) {
+
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        long idEviction = idEvictions.get();
+
+        Optional<LicenseSummary> license = licenseRepository.findSummaryByLicenseIdAndOrganizationId(licenseId, organizationId);
+        if (licenses != null && license.isPresent()) {
+            licenses.put(key, license.get());
+            licenseCacheKeys.put(license.get().id(), key);
+            if (generations.get(stripe) != generation || idEvictions.get() != idEviction) {
+                licenses.evict(key);
+                licenseCacheKeys.remove(license.get().id(), key);
+            }
+        }
+
+        return license;
+    }
+
+    private void evict(String key) {
+        generations.incrementAndGet(stripe(key));
+
+        Cache licenses = cacheManager.getCache(LICENSES);
+        if (licenses == null) return;
+
+        LicenseSummary cachedLicense = licenses.get(key, LicenseSummary.class);
+        licenses.evict(key);
+        if (cachedLicense != null) licenseCacheKeys.remove(cachedLicense.id(), key);
+    }
+
+    private void invalidateAllGenerations() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) generations.incrementAndGet(stripe);
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static String key(String licenseId, String organizationId) {
+        return organizationId + ':' + licenseId;
+    }
+
+    @Nullable
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        return cacheManager.getCache(LICENSES) instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+    }
+}
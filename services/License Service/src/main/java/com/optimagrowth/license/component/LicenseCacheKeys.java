@@ -0,0 +1,54 @@
+package com.optimagrowth.license.component;
+
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache keys of the cached licenses by document id, so that a change reported with the document id only, eg: a
+ * change stream event without pre-image, evicts the license it changed without scanning the cache.
+ * Kept in step with the licenses cache: a key is added by LicenseCache when it caches a license, and removed when
+ * the license is evicted, or expires or is pushed out by the size bound (see CacheConfig).
+ */
+@Component
+public class LicenseCacheKeys {
+
+    private final ConcurrentMap<String, String> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * @param id The document id of the cached license.
+     * @param key The cache key of the license.
+     */
+    public void put(String id, String key) {
+        keysById.put(id, key);
+    }
+
+    /**
+     * @param id The document id of a license.
+     * @return The cache key of the license, no longer kept, or null if the license is not cached.
+     */
+    @Nullable
+    public String remove(String id) {
+        return keysById.remove(id);
+    }
+
+    /**
+     * Forgets the cache key of a license, unless the document id maps to another key meanwhile.
+     *
+     * @param id The document id of the license.
+     * @param key The cache key of the license.
+     */
+    public void remove(String id, String key) {
+        keysById.remove(id, key);
+    }
+
+    public void clear() {
+        keysById.clear();
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+}
@@ -0,0 +1,374 @@
+package com.optimagrowth.license.component;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import com.optimagrowth.license.model.License;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the license cache and the existence filters of this instance coherent with the writes handled by the other
+ * instances, by following a change stream of the license collection.
+ * <p>
+ * Updated, replaced and deleted licenses are evicted from the cache, and inserted or renamed licenses are added
+ * to the existence filters. The stream is resumed from the last resume token after a failure, so that the changes
+ * made meanwhile are replayed instead of reloading everything. When the changes cannot be replayed anymore the
+ * whole cache is evicted and the filters are rebuilt.
+ * <p>
+ * The resume token is saved in the license_stream_state collection every change-stream.checkpoint-events changes
+ * or change-stream.checkpoint-interval, and the stream resumes from it after a restart. Every instance saves its own
+ * position, under change-stream.state-id which defaults to the instance id (host:application:port), so that a
+ * restarted instance resumes where it stopped rather than where another instance last checkpointed.
+ * Without a saved token the stream starts at the operation time read before the service accepts requests, so that
+ * the licenses cached before the stream is opened are covered by its events as well.
+ * <p>
+ * While the stream is followed, cached licenses live for change-stream.cache-time-to-live. When change streams are
+ * unavailable (eg: standalone server) or failing, the cache falls back to expiring licenses after
+ * cache.time-to-live, which bounds how stale they can be.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "license.change-stream.enabled", havingValue = "true", matchIfMissing = true)
+public class LicenseChangeStreamListener implements SmartInitializingSingleton {
+
+    // Server error codes of https://www.mongodb.com/docs/manual/reference/error-codes/
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private static final String STATE_COLLECTION = "license_stream_state";
+    private static final String RESUME_TOKEN = "resumeToken";
+    private static final String SAVED_AT = "savedAt";
+
+    private static final Set<OperationType> INVALIDATING_OPERATIONS =
+            Set.of(OperationType.DROP, OperationType.RENAME, OperationType.DROP_DATABASE, OperationType.INVALIDATE);
+
+    private final MongoTemplate mongoTemplate;
+    private final LicenseCache licenseCache;
+    private final LicenseExistenceFilter licenseExistenceFilter;
+
+    @Value("${license.cache.time-to-live:5m}")
+    private Duration fallbackTimeToLive;
+
+    @Value("${license.change-stream.cache-time-to-live:1h}")
+    private Duration streamedTimeToLive;
+
+    @Value("${license.change-stream.retry-delay:5s}")
+    private Duration retryDelay;
+
+    @Value("${license.change-stream.enable-pre-images:true}")
+    private boolean enablePreImages;
+
+    @Value("${license.change-stream.state-id:${eureka.instance.instance-id:"
+            + "${spring.cloud.client.hostname:localhost}:${spring.application.name:licensing-service}:${server.port:8080}}}")
+    private String stateId;
+
+    @Value("${license.change-stream.checkpoint-events:100}")
+    private int checkpointEvents;
+
+    @Value("${license.change-stream.checkpoint-interval:10s}")
+    private Duration checkpointInterval;
+
+    @Value("${license.change-stream.stop-timeout:5s}")
+    private Duration stopTimeout;
+
+    private volatile boolean running;
+
+    @Nullable
+    private Thread follower;
+
+    @Nullable
+    private BsonDocument resumeToken;
+
+    @Nullable
+    private BsonTimestamp startAtOperationTime;
+
+    @Nullable
+    private BsonDocument savedResumeToken;
+
+    private boolean stateLoaded;
+
+    /**
+     * Reads the current operation time of the cluster before the service accepts requests, the stream starts at it
+     * when no resume token was saved. Left unset when the server cannot be reached or is standalone.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            startAtOperationTime = mongoTemplate.executeCommand(new Document("ping", 1))
+                    .get("operationTime", BsonTimestamp.class);
+        } catch (DataAccessException exception) {
+            log.info("Could not read the operation time to start the license change stream at: {}", exception.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        follower = Thread.ofPlatform().daemon().name("license-change-stream").start(this::follow);
+    }
+
+    /**
+     * Stops following the changes before the Mongo client is closed: the stream is given change-stream.stop-timeout
+     * to return from its current poll and save its resume token, then it is interrupted.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        Thread thread = follower;
+        if (thread == null) return;
+
+        thread.join(stopTimeout);
+        if (thread.isAlive()) {
+            thread.interrupt();
+            thread.join(stopTimeout);
+            if (thread.isAlive()) log.warn("The license change stream did not stop within {}", stopTimeout);
+        }
+    }
+
+    private void follow() {
+        String collectionName = mongoTemplate.getCollectionName(License.class);
+        boolean preImagesRequested = !enablePreImages;
+
+        while (running) {
+            try {
+                if (!preImagesRequested) preImagesRequested = enablePreImages(collectionName);
+                if (!stateLoaded) loadResumeToken();
+                watch(mongoTemplate.getCollection(collectionName));
+            } catch (MongoCommandException exception) {
+                switch (exception.getErrorCode()) {
+                    case CHANGE_STREAM_NOT_SUPPORTED -> {
+                        log.info("Change streams are not supported by the server, cached licenses expire after {}",
+                                fallbackTimeToLive);
+                        return;
+                    }
+                    case CHANGE_STREAM_HISTORY_LOST, CHANGE_STREAM_FATAL_ERROR -> {
+                        log.warn("The license changes cannot be resumed anymore, reloading the license caches", exception);
+                        invalidateAll();
+                    }
+                    default -> {
+                        if (!running) return;
+                        retryLater(exception);
+                    }
+                }
+            } catch (MongoException exception) {
+                if (!running) return;
+                retryLater(exception);
+            } catch (RuntimeException exception) {
+                // The client is closed under the stream when the service stops
+                if (!running) return;
+                log.error("Unexpected failure of the license change stream, cached licenses expire after {}",
+                        fallbackTimeToLive, exception);
+                licenseCache.setTimeToLive(fallbackTimeToLive);
+                return;
+            }
+        }
+    }
+
+    private void watch(MongoCollection<Document> collection) {
+        ChangeStreamIterable<Document> changeStream = collection
+                .watch(List.of(Aggregates.match(Filters.in("operationType",
+                        "insert", "update", "replace", "delete", "drop", "rename", "dropDatabase"))))
+                .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) changeStream.resumeAfter(resumeToken);
+        else if (startAtOperationTime != null) changeStream.startAtOperationTime(startAtOperationTime);
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+            licenseCache.setTimeToLive(streamedTimeToLive);
+            log.info("Following the changes of the {} collection{}", collection.getNamespace().getCollectionName(),
+                    resumeToken != null ? " from the last resume token"
+                            : startAtOperationTime != null ? " from " + startAtOperationTime : "");
+
+            int eventsSinceCheckpoint = 0;
+            long lastCheckpoint = System.nanoTime();
+
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) apply(change);
+
+                if (change != null && INVALIDATING_OPERATIONS.contains(change.getOperationType())) {
+                    // The stream is closed after an invalidate event and cannot be resumed after it
+                    return;
+                }
+
+                resumeToken = cursor.getResumeToken();
+                if (change != null) eventsSinceCheckpoint++;
+                if (eventsSinceCheckpoint >= checkpointEvents
+                        || System.nanoTime() - lastCheckpoint >= checkpointInterval.toNanos()) {
+                    saveResumeToken(resumeToken);
+                    eventsSinceCheckpoint = 0;
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+
+            try {
+                saveResumeToken(resumeToken);
+            } catch (RuntimeException exception) {
+                // The client may already be closed when the service stops
+                log.debug("Could not save the license change stream resume token: {}", exception.getMessage());
+            }
+        }
+    }
+
+    private void loadResumeToken() {
+        BsonDocument state = mongoTemplate.getCollection(STATE_COLLECTION)
+                .withDocumentClass(BsonDocument.class)
+                .find(Filters.eq("_id", stateId))
+                .first();
+
+        savedResumeToken = state == null ? null : state.getDocument(RESUME_TOKEN, null);
+        if (savedResumeToken != null) resumeToken = savedResumeToken;
+        stateLoaded = true;
+    }
+
+    /**
+     * Saves the resume token when it changed since it was last saved, or removes it when null.
+     */
+    private void saveResumeToken(@Nullable BsonDocument token) {
+        if (Objects.equals(token, savedResumeToken)) return;
+
+        mongoTemplate.getCollection(STATE_COLLECTION).updateOne(
+                Filters.eq("_id", stateId),
+                token == null
+                        ? Updates.combine(Updates.unset(RESUME_TOKEN), Updates.currentDate(SAVED_AT))
+                        : Updates.combine(Updates.set(RESUME_TOKEN, token), Updates.currentDate(SAVED_AT)),
+                new UpdateOptions().upsert(true));
+        savedResumeToken = token;
+    }
+
+    /**
+     * Applies a change of the license collection to the cache and the existence filters of this instance.
+     *
+     * @param change The change, with the license before the change when the pre-image is available.
+     */
+    void apply(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT -> {
+                // Absent licenses are not cached, there is nothing to evict
+                Document license = change.getFullDocument();
+                if (license != null) {
+                    licenseExistenceFilter.put(license.getString("licenseId"), license.getString("productName"));
+                }
+            }
+            case REPLACE -> {
+                evictPrevious(change);
+                Document license = change.getFullDocument();
+                if (license != null) {
+                    licenseExistenceFilter.put(license.getString("licenseId"), license.getString("productName"));
+                }
+            }
+            case UPDATE -> {
+                evictPrevious(change);
+                BsonDocument updatedFields = change.getUpdateDescription() == null
+                        ? null : change.getUpdateDescription().getUpdatedFields();
+                if (updatedFields != null) {
+                    licenseExistenceFilter.put(string(updatedFields.get("licenseId")), string(updatedFields.get("productName")));
+                }
+            }
+            case DELETE -> evictPrevious(change);
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> invalidateAll();
+            default -> log.debug("Ignoring the {} change of the license collection", change.getOperationType());
+        }
+    }
+
+    /**
+     * Evicts the license as it was before the change, found by its key when the pre-image is available,
+     * otherwise by its document id.
+     */
+    private void evictPrevious(ChangeStreamDocument<Document> change) {
+        Document previous = change.getFullDocumentBeforeChange();
+        if (previous != null) {
+            licenseCache.evict(previous.getString("licenseId"), previous.getString("organizationId"));
+            return;
+        }
+
+        BsonDocument documentKey = change.getDocumentKey();
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+        if (id != null) licenseCache.evictById(id.isObjectId() ? id.asObjectId().getValue().toHexString() : string(id));
+    }
+
+    private void invalidateAll() {
+        // Everything is reloaded, the stream starts again from the current changes
+        resumeToken = null;
+        startAtOperationTime = null;
+        licenseCache.clear();
+        licenseExistenceFilter.rebuild();
+
+        try {
+            saveResumeToken(null);
+        } catch (MongoException exception) {
+            log.warn("Could not remove the saved license change stream resume token: {}", exception.getMessage());
+        }
+    }
+
+    private void retryLater(MongoException exception) {
+        log.warn("The license change stream failed, resuming in {}; cached licenses expire after {} meanwhile: {}",
+                retryDelay, fallbackTimeToLive, exception.getMessage());
+        licenseCache.setTimeToLive(fallbackTimeToLive);
+
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Records the license as it was before each change, so that changed licenses can be evicted by their key.
+     * Requires MongoDB 6.0 and the collMod privilege, without them licenses are evicted by their document id.
+     *
+     * @return false if the server could not be reached and the request must be made again.
+     */
+    private boolean enablePreImages(String collectionName) {
+        try {
+            mongoTemplate.executeCommand(new Document("collMod", collectionName)
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+        } catch (DataAccessResourceFailureException exception) {
+            return false;
+        } catch (DataAccessException exception) {
+            log.info("Change stream pre-images not enabled on the {} collection: {}", collectionName, exception.getMessage());
+        }
+
+        return true;
+    }
+
+    @Nullable
+    private static String string(@Nullable BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.optimagrowth.license.component;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of the known license ids and product names.
+ * A negative answer is definite and lets the validators skip their Mongo lookup,
+ * a positive answer only means "maybe present" and must be confirmed against the repository.
+ * Bloom filters do not support removal, so they are rebuilt periodically to drop deleted licenses.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LicenseExistenceFilter {
+
+    private final LicenseRepository licenseRepository;
+
+    @Value("${license.existence-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${license.existence-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${license.existence-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    /**
+     * @param licenseId The license id to look up.
+     * @return false if the license id is definitely unknown, true if it may exist.
+     */
+    public boolean mightContainLicenseId(String licenseId) {
+        Filters current = filters;
+
+        return current == null || current.licenseIds().mightContain(licenseId);
+    }
+
+    /**
+     * @param productName The product name to look up.
+     * @return false if the product name is definitely unknown, true if it may exist.
+     */
+    public boolean mightContainProductName(String productName) {
+        Filters current = filters;
+
+        return current == null || current.productNames().mightContain(productName);
+    }
+
+    /**
+     * Records the keys of a license written by the command side.
+     *
+     * @param licenseId The license id of the license.
+     * @param productName The product name of the license.
+     */
+    public void put(String licenseId, String productName) {
+        Filters current = filters;
+        if (current != null) current.put(licenseId, productName);
+
+        // Keys written while a rebuild is scanning must reach the filters being built as well
+        Filters pending = building;
+        if (pending != null) pending.put(licenseId, productName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filters from a projection scan of the license collection and swaps them in.
+     * Until the first build succeeds every lookup answers "maybe present" and falls back to Mongo.
+     */
+    @Scheduled(
+            initialDelayString = "${license.existence-filter.rebuild-interval:1h}",
+            fixedDelayString = "${license.existence-filter.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        if (!enabled) return;
+
+        Filters rebuilt = new Filters(
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveProbability),
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveProbability));
+        building = rebuilt;
+
+        try (Stream<License> licenses = licenseRepository.streamAllLicenseKeysBy()) {
+            licenses.forEach(license -> rebuilt.put(license.getLicenseId(), license.getProductName()));
+            filters = rebuilt;
+            log.info("License existence filters rebuilt with {} license ids",
+                    rebuilt.licenseIds().approximateElementCount());
+        } catch (DataAccessException exception) {
+            log.warn("Unable to rebuild the license existence filters, keeping the previous ones", exception);
+        } finally {
+            building = null;
+        }
+    }
+
+    private record Filters(BloomFilter<String> licenseIds, BloomFilter<String> productNames) {
+
+        void put(String licenseId, String productName) {
+            if (licenseId != null) licenseIds.put(licenseId);
+            if (productName != null) productNames.put(productName);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.model.LicenseView;
+import com.optimagrowth.license.repository.LicenseQueryPlans;
+import com.optimagrowth.license.repository.LicenseViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates the indexes declared on the license documents, License and LicenseView, before the service accepts requests.
+ * Replaces the automatic index creation of Spring Data, which creates the indexes of a document type only when the
+ * mapping context first meets it, at the first read of a view for LicenseView.
+ * Indexes already present are left as they are, an index conflicting with an existing one is reported and skipped.
+ * <p>
+ * The repository queries are then explained once on these indexes, and those whose plan scans a collection are
+ * reported, failing the startup when license.mongo.indexes.fail-on-collection-scan is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "license.mongo.indexes.enabled", havingValue = "true", matchIfMissing = true)
+public class LicenseIndexInitializer implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final Optional<LicenseViewRepository> licenseViewRepository;
+
+    @Value("${license.view.enabled:true}")
+    private boolean viewEnabled;
+
+    @Value("${license.mongo.indexes.explain-queries:true}")
+    private boolean explainQueries;
+
+    @Value("${license.mongo.indexes.fail-on-collection-scan:false}")
+    private boolean failOnCollectionScan;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            ensureIndexes(License.class);
+            if (viewEnabled) ensureIndexes(LicenseView.class);
+        } catch (DataAccessResourceFailureException exception) {
+            log.warn("Could not create the license indexes", exception);
+            return;
+        }
+
+        if (!explainQueries) return;
+
+        List<String> collectionScans;
+        try {
+            collectionScans = findCollectionScans();
+        } catch (DataAccessException exception) {
+            log.warn("Could not explain the license queries", exception);
+            return;
+        }
+
+        if (collectionScans.isEmpty()) return;
+        if (failOnCollectionScan) {
+            throw new IllegalStateException("License queries scanning a collection: " + collectionScans);
+        }
+        log.warn("License queries scanning a collection, an index is missing: {}", collectionScans);
+    }
+
+    /**
+     * Explains the queries of the license repository and of the read model, those reading the whole collection by
+     * design aside.
+     *
+     * @return The queries whose winning plan scans a collection, named by the methods sending them.
+     * @throws DataAccessException If the queries cannot be explained.
+     */
+    public List<String> findCollectionScans() throws DataAccessException {
+
+        Map<String, Document> plans = new LinkedHashMap<>(LicenseQueryPlans.explain(mongoTemplate));
+        if (viewEnabled) {
+            licenseViewRepository.ifPresent(repository -> repository.explainQueries()
+                    .forEach((methods, explain) -> plans.put("LicenseViewRepository." + methods, explain)));
+        }
+
+        List<String> collectionScans = plans.entrySet()
+                .stream()
+                .filter(plan -> LicenseQueryPlans.stages(plan.getValue()).contains("COLLSCAN"))
+                .map(Map.Entry::getKey)
+                .toList();
+        log.info("Explained {} license queries, {} scanning a collection", plans.size(), collectionScans.size());
+
+        return collectionScans;
+    }
+
+    /**
+     * Creates the indexes declared on a document type which do not exist yet.
+     *
+     * @param documentType The document type, License or LicenseView.
+     * @throws DataAccessResourceFailureException If the server cannot be reached.
+     */
+    public void ensureIndexes(Class<?> documentType) throws DataAccessResourceFailureException {
+
+        String collectionName = mongoTemplate.getCollectionName(documentType);
+        IndexOperations indexOperations = mongoTemplate.indexOps(documentType);
+        MongoPersistentEntityIndexResolver indexResolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (IndexDefinition index : indexResolver.resolveIndexFor(documentType)) {
+            try {
+                indexOperations.ensureIndex(index);
+            } catch (DataAccessResourceFailureException exception) {
+                throw exception;
+            } catch (DataAccessException exception) {
+                log.warn("Could not create the index {} {} of the {} collection: {}",
+                        index.getIndexOptions().get("name"), index.getIndexKeys().toJson(), collectionName,
+                        exception.getMessage());
+            }
+        }
+    }
+}
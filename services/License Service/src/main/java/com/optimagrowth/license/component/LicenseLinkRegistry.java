@@ -0,0 +1,122 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.commonlibrary.core.i18n.MessagesReloadedEvent;
+import com.optimagrowth.license.controller.command.LicenseCommandController;
+import com.optimagrowth.license.controller.query.LicenseQueryController;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Links of a license resource, built from URI templates resolved once from the controller mappings.
+ * Building the links of a response only expands the templates and looks up the rel names of the locale,
+ * instead of recording a controller invocation through a methodOn proxy and translating every rel.
+ */
+@Component
+public class LicenseLinkRegistry {
+
+    private static final String CREATE_LICENSE_REL = "link.create.license";
+    private static final String UPDATE_LICENSE_REL = "link.update.license";
+    private static final String DELETE_LICENSE_REL = "link.delete.license";
+
+    private final MessageSource messageSource;
+    private final UriTemplate licenseTemplate;
+    private final UriTemplate createLicenseTemplate;
+    private final ConcurrentMap<Locale, Rels> relsByLocale = new ConcurrentHashMap<>();
+
+    public LicenseLinkRegistry(@Qualifier("messageSource") MessageSource messageSource) {
+        this.messageSource = messageSource;
+        this.licenseTemplate = uriTemplate(LicenseQueryController.class, "retrieveLicense");
+        this.createLicenseTemplate = uriTemplate(LicenseCommandController.class, "createLicense");
+    }
+
+    /**
+     * Builds the links of a license for the current servlet request and locale.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @return The self, create, update and delete links of the license.
+     */
+    public List<Link> licenseLinks(String licenseId, String organizationId) {
+        return licenseLinks(
+                ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString(),
+                licenseId, organizationId, LocaleContextHolder.getLocale());
+    }
+
+    /**
+     * Builds the links of a license.
+     *
+     * @param baseUri The scheme, host, port and context path the links are relative to.
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param locale The locale of the rel names.
+     * @return The self, create, update and delete links of the license.
+     */
+    public List<Link> licenseLinks(String baseUri, String licenseId, String organizationId, Locale locale) {
+
+        Map<String, String> variables = Map.of("organizationId", organizationId, "licenseId", licenseId);
+        String licenseUri = baseUri + licenseTemplate.expand(variables);
+        Rels rels = relsByLocale.computeIfAbsent(locale, this::translateRels);
+
+        return List.of(
+                Link.of(licenseUri, IanaLinkRelations.SELF),
+                Link.of(baseUri + createLicenseTemplate.expand(variables), rels.createLicense()),
+                Link.of(licenseUri, rels.updateLicense()),
+                Link.of(licenseUri, rels.deleteLicense()));
+    }
+
+    /**
+     * Drops the translated rel names once the messages are reloaded.
+     */
+    @EventListener(MessagesReloadedEvent.class)
+    public void clearRels() {
+        relsByLocale.clear();
+    }
+
+    private Rels translateRels(Locale locale) {
+        return new Rels(
+                messageSource.getMessage(CREATE_LICENSE_REL, null, locale),
+                messageSource.getMessage(UPDATE_LICENSE_REL, null, locale),
+                messageSource.getMessage(DELETE_LICENSE_REL, null, locale));
+    }
+
+    private static UriTemplate uriTemplate(Class<?> controller, String methodName) {
+
+        Method handler = Arrays.stream(controller.getMethods())
+                .filter(method -> method.getName().equals(methodName))
+                .filter(method -> AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "No request mapping " + controller.getSimpleName() + "#" + methodName));
+
+        return new UriTemplate(mappingPath(controller) + mappingPath(handler));
+    }
+
+    private static String mappingPath(AnnotatedElement element) {
+
+        RequestMapping requestMapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+        String[] paths = requestMapping == null ? new String[0] : requestMapping.path();
+
+        return paths.length == 0 ? "" : paths[0];
+    }
+
+    private record Rels(String createLicense, String updateLicense, String deleteLicense) {
+    }
+}
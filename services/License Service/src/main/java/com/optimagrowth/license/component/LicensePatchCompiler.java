@@ -0,0 +1,112 @@
+package com.optimagrowth.license.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseChanges;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Compiles a JSON Patch into field level $set/$unset changes of a license, so that it can be applied
+ * with a single atomic findAndModify instead of a read-modify-write of the whole document.
+ */
+@Component
+@RequiredArgsConstructor
+public class LicensePatchCompiler {
+
+    private static final String ADD = "add";
+    private static final String REPLACE = "replace";
+    private static final String REMOVE = "remove";
+
+    /**
+     * The top level fields of a license that can be changed in place, with their Java type.
+     * Identifiers, ownership and audit fields are only patched through the full document round trip, and so are
+     * licenseId and productName, whose uniqueness a $set would leave unchecked.
+     */
+    private static final Map<String, Class<?>> PATCHABLE_FIELDS = Map.of(
+            "description", String.class,
+            "licenseType", LicenseType.class,
+            "comment", String.class);
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Compiles the patch and validates the resulting field values against the {@link License} constraints.
+     *
+     * @param jsonPatch The patch to compile.
+     * @return The changes to apply, or empty when the patch holds operations that cannot be expressed
+     *         as $set/$unset (move, copy, test, nested or non patchable paths).
+     * @throws JsonProcessingException If a value cannot be converted to the type of its field.
+     * @throws ConstraintViolationException If a patched value violates the constraints of its field.
+     */
+    public Optional<LicenseChanges> compile(JsonPatch jsonPatch) throws JsonProcessingException {
+
+        Map<String, Object> set = new LinkedHashMap<>();
+        Set<String> unset = new LinkedHashSet<>();
+
+        for (JsonNode operation : objectMapper.<JsonNode>valueToTree(jsonPatch)) {
+            String path = operation.path("path").asText();
+            String field = path.startsWith("/") ? path.substring(1) : null;
+            Class<?> fieldType = field == null ? null : PATCHABLE_FIELDS.get(field);
+
+            if (fieldType == null) return Optional.empty();
+
+            switch (operation.path("op").asText()) {
+                case ADD, REPLACE -> {
+                    Object value = objectMapper.treeToValue(operation.path("value"), fieldType);
+                    unset.remove(field);
+                    if (value == null) unset.add(field);
+                    else set.put(field, value);
+                }
+                case REMOVE -> {
+                    set.remove(field);
+                    unset.add(field);
+                }
+                default -> {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        validate(set, unset);
+
+        return Optional.of(new LicenseChanges(set, unset));
+    }
+
+    /**
+     * Applies the patch to the whole license document, for the patches that cannot be compiled.
+     *
+     * @param jsonPatch The patch to apply.
+     * @param targetLicense The license to patch, left unchanged.
+     * @return A patched copy of the license, not validated.
+     * @throws JsonPatchException If an operation of the patch cannot be applied to the document.
+     * @throws JsonProcessingException If the patched document can no longer be read as a license.
+     */
+    public License applyToLicense(JsonPatch jsonPatch, License targetLicense)
+            throws JsonPatchException, JsonProcessingException {
+
+        JsonNode jsonPatched = jsonPatch.apply(objectMapper.convertValue(targetLicense, JsonNode.class));
+
+        return objectMapper.treeToValue(jsonPatched, License.class);
+    }
+
+    private void validate(Map<String, Object> set, Set<String> unset) {
+
+        Set<ConstraintViolation<License>> violations = new HashSet<>();
+        set.forEach((field, value) -> violations.addAll(validator.validateValue(License.class, field, value)));
+        unset.forEach(field -> violations.addAll(validator.validateValue(License.class, field, null)));
+
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+    }
+}
@@ -0,0 +1,30 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.license.repository.LicenseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives a version to the licenses stored before optimistic locking was introduced, before the service accepts requests.
+ * A license without version would otherwise be seen as new by the repository and inserted again on save.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LicenseVersionInitializer implements SmartInitializingSingleton {
+
+    private final LicenseRepository licenseRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long initialized = licenseRepository.initializeMissingVersions();
+            if (initialized > 0) log.info("Initialized the version of {} licenses", initialized);
+        } catch (DataAccessException exception) {
+            log.warn("Could not initialize the missing license versions", exception);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.optimagrowth.license.component;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operations on the license_view read model, eg: POST /actuator/licenseview to rebuild it.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "licenseview")
+@ConditionalOnProperty(name = "license.view.enabled", havingValue = "true", matchIfMissing = true)
+public class LicenseViewEndpoint {
+
+    private final LicenseViewProjector licenseViewProjector;
+
+    @WriteOperation
+    public LicenseViewProjector.RebuildResult rebuild() {
+        return licenseViewProjector.rebuild();
+    }
+}
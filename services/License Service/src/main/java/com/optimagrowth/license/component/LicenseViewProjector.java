@@ -0,0 +1,117 @@
+package com.optimagrowth.license.component;
+
+import com.mongodb.client.MongoCursor;
+import com.optimagrowth.license.event.LicenseDeletedEvent;
+import com.optimagrowth.license.event.LicensesSavedEvent;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Maintains the license_view read model from the events of the command side, asynchronously so that the writes
+ * do not wait for it. The read model is eventually consistent: a projection failing is logged and left to the
+ * next event of the license, or to a rebuild.
+ * <p>
+ * A rebuild re-projects the whole license collection in batches, then removes the views of the licenses deleted
+ * meanwhile. It runs on its own when the read model is empty at startup, and on demand from the licenseview
+ * actuator endpoint.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "license.view.enabled", havingValue = "true", matchIfMissing = true)
+public class LicenseViewProjector {
+
+    private final LicenseViewRepository licenseViewRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${license.view.rebuild.batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    @EventListener
+    public void onLicensesSaved(LicensesSavedEvent licensesSavedEvent) {
+        try {
+            licenseViewRepository.project(licensesSavedEvent.licenses());
+        } catch (RuntimeException exception) {
+            log.warn("Could not project {} saved licenses into the license view",
+                    licensesSavedEvent.licenses().size(), exception);
+        }
+    }
+
+    @Async
+    @EventListener
+    public void onLicenseDeleted(LicenseDeletedEvent licenseDeletedEvent) {
+        try {
+            licenseViewRepository.delete(licenseDeletedEvent.id(), licenseDeletedEvent.organizationId());
+        } catch (RuntimeException exception) {
+            log.warn("Could not remove the deleted license {} of organization {} from the license view",
+                    licenseDeletedEvent.licenseId(), licenseDeletedEvent.organizationId(), exception);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (licenseViewRepository.isEmpty() && mongoTemplate.exists(new Query(), License.class)) {
+                log.info("The license view is empty, rebuilding it");
+                rebuild();
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Could not initialize the license view", exception);
+        }
+    }
+
+    /**
+     * Re-projects every license into the read model, batch by batch, then removes the views not projected again.
+     * Events projected meanwhile are kept, the views are only ever overwritten by the same or a newer version.
+     *
+     * @return The number of views projected and removed, and the duration of the rebuild.
+     */
+    public synchronized RebuildResult rebuild() {
+        long start = System.nanoTime();
+        Date serverStart = licenseViewRepository.serverTime();
+
+        long projected = 0;
+        List<License> batch = new ArrayList<>(batchSize);
+        // Decoded straight from BSON by the LicenseCodec registered with the client
+        try (MongoCursor<License> licenses = mongoTemplate.getCollection(mongoTemplate.getCollectionName(License.class))
+                .withDocumentClass(License.class)
+                .find()
+                .batchSize(batchSize)
+                .cursor()) {
+            while (licenses.hasNext()) {
+                batch.add(licenses.next());
+                if (batch.size() == batchSize) {
+                    projected += licenseViewRepository.project(batch);
+                    batch.clear();
+                }
+            }
+        }
+        projected += licenseViewRepository.project(batch);
+
+        long removed = licenseViewRepository.deleteNotProjectedSince(serverStart);
+        RebuildResult rebuildResult = new RebuildResult(projected, removed, Duration.ofNanos(System.nanoTime() - start));
+        log.info("License view rebuilt: {}", rebuildResult);
+
+        return rebuildResult;
+    }
+
+    public record RebuildResult(long projected, long removed, Duration duration) {
+    }
+}
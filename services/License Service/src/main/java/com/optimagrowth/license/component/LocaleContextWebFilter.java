@@ -0,0 +1,34 @@
+package com.optimagrowth.license.component;
+
+import io.micrometer.common.lang.NonNullApi;
+import io.micrometer.context.ContextRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.i18n.LocaleContextThreadLocalAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exposes the locale of the exchange to the LocaleContextHolder in the reactive mode.
+ * The locale is written to the Reactor context and restored as a thread local by the automatic
+ * context propagation (spring.reactor.context-propagation=auto), so that the messages translated
+ * by the services and exception handlers follow the Accept-Language header as in the servlet mode.
+ */
+@NonNullApi
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class LocaleContextWebFilter implements WebFilter {
+
+    public LocaleContextWebFilter() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new LocaleContextThreadLocalAccessor());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(LocaleContextThreadLocalAccessor.KEY, exchange.getLocaleContext()));
+    }
+}
@@ -17,7 +17,8 @@ public class MongoListener extends AbstractMongoEventListener<BaseModel> {
 
         BaseModel baseModel = beforeConvertEvent.getSource();
 
-        if(StringUtils.isBlank(baseModel.getId())) {
+        // Bulk inserts assign the ids upfront, so a missing creation date also denotes a new document
+        if(StringUtils.isBlank(baseModel.getId()) || baseModel.getCreateAt() == null) {
             baseModel.setCreateAt(LocalDateTime.now());
             baseModel.setUpdateAt(LocalDateTime.now());
         } else baseModel.setUpdateAt(LocalDateTime.now());
@@ -0,0 +1,37 @@
+package com.optimagrowth.license.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Carries the locale of the submitting request over to the asynchronous tasks, so that the messages
+     * they translate match the request. It is applied by Spring Boot to the application task executor,
+     * which runs on virtual threads when spring.threads.virtual.enabled is set.
+     *
+     * @return The TaskDecorator instance
+     */
+    @Bean
+    public TaskDecorator localeContextTaskDecorator() {
+        return task -> {
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+
+            return () -> {
+                LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+                LocaleContextHolder.setLocaleContext(localeContext);
+                try {
+                    task.run();
+                } finally {
+                    LocaleContextHolder.setLocaleContext(previousLocaleContext);
+                }
+            };
+        };
+    }
+}
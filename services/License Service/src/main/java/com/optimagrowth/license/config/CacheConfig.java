@@ -0,0 +1,51 @@
+package com.optimagrowth.license.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.optimagrowth.license.component.LicenseCache;
+import com.optimagrowth.license.component.LicenseCacheKeys;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Bounded in-process cache manager backed by Caffeine (W-TinyLFU eviction).
+     * The cache names are declared up front so that their statistics are bound to the
+     * actuator metrics (cache.gets, cache.puts, cache.evictions, cache.size) at startup.
+     *
+     * The licenses expiring or pushed out by the size bound are forgotten by the LicenseCacheKeys as well.
+     *
+     * @param maximumSize The maximum number of entries kept per cache.
+     * @param timeToLive The time after which an entry expires once written.
+     * @param licenseCacheKeys The cache keys of the cached licenses by document id.
+     * @return The CacheManager instance
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${license.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${license.cache.time-to-live:5m}") Duration timeToLive,
+                                     LicenseCacheKeys licenseCacheKeys) {
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .evictionListener((key, value, cause) -> {
+                    if (key instanceof String cacheKey && value instanceof LicenseSummary license) {
+                        licenseCacheKeys.remove(license.id(), cacheKey);
+                    }
+                })
+                .recordStats());
+        caffeineCacheManager.setCacheNames(LicenseCache.CACHE_NAMES);
+
+        return caffeineCacheManager;
+    }
+}
@@ -0,0 +1,81 @@
+package com.optimagrowth.license.config;
+
+import com.mongodb.MongoClientSettings;
+import com.optimagrowth.license.codec.LicenseCodec;
+import com.optimagrowth.license.codec.LicenseConverters;
+import com.optimagrowth.license.repository.LicenseRepository;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Sizes the connection pool of the Mongo clients, blocking and reactive.
+     * The pool of the query side client is sized separately, see QueryMongoConfig.
+     * With virtual threads the number of concurrent requests is no longer bounded by the servlet container,
+     * the pool becomes the limit on concurrent Mongo operations: requests wait at most max-wait-time for a
+     * connection and then fail, instead of piling up behind the pool.
+     *
+     * @param maxSize The maximum number of connections per server.
+     * @param minSize The number of connections kept open per server.
+     * @param maxConnecting The maximum number of connections being established concurrently per server.
+     * @param maxWaitTime The maximum time to wait for a connection before failing the operation.
+     * @return The MongoClientSettingsBuilderCustomizer instance
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${license.mongo.pool.max-size:100}") int maxSize,
+            @Value("${license.mongo.pool.min-size:0}") int minSize,
+            @Value("${license.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${license.mongo.pool.max-wait-time:2m}") Duration maxWaitTime) {
+
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Maps licenses with the hand-written converters rather than the reflective mapping.
+     *
+     * @return The MongoCustomConversions instance
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(LicenseConverters.all());
+    }
+
+    /**
+     * Registers the License codec with the Mongo clients, for the driver level reads and writes of licenses.
+     *
+     * @return The MongoClientSettingsBuilderCustomizer instance
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer licenseCodecCustomizer() {
+        return settings -> settings.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new LicenseCodec()),
+                MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
+    /**
+     * The query side reads through the primary LicenseRepository when its dedicated client is disabled.
+     *
+     * @param licenseRepository The primary LicenseRepository.
+     * @return The LicenseRepository of the query side
+     */
+    @Bean(name = QueryMongoConfig.QUERY_LICENSE_REPOSITORY, defaultCandidate = false)
+    @ConditionalOnProperty(name = "license.mongo.query.enabled", havingValue = "false")
+    public LicenseRepository primaryQueryLicenseRepository(LicenseRepository licenseRepository) {
+        return licenseRepository;
+    }
+}
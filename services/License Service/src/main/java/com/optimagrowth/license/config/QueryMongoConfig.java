@@ -0,0 +1,118 @@
+package com.optimagrowth.license.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.LicenseRepositoryCustomImpl;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query side of the license collection: a MongoTemplate and a LicenseRepository of their own, backed by a dedicated
+ * Mongo client reading from the secondaries when available, with its own connection pool. Read bursts of the query
+ * side then neither load the primary nor take the connections needed by the writes of the command side.
+ * <p>
+ * The query beans are not candidates for injection by type, they are injected by name with
+ * {@link #QUERY_LICENSE_REPOSITORY}, while the command side keeps the primary MongoTemplate and LicenseRepository.
+ * The client is built from the same settings as the primary one (connection string, credentials, ...),
+ * then its read preference and connection pool are overridden.
+ */
+@Configuration
+@ConditionalOnProperty(name = "license.mongo.query.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMongoConfig {
+
+    public static final String QUERY_MONGO_TEMPLATE = "queryMongoTemplate";
+    public static final String QUERY_LICENSE_REPOSITORY = "queryLicenseRepository";
+
+    private final List<MongoClient> queryMongoClients = new ArrayList<>();
+
+    /**
+     * Declared explicitly as Spring Boot only configures its MongoTemplate while there is none,
+     * the query MongoTemplate below would otherwise replace it.
+     *
+     * @return The primary MongoTemplate instance, used by the command side and the LicenseRepository
+     */
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    /**
+     * @param readPreference The read preference of the query side: secondaryPreferred, secondary, nearest, ...
+     * @param maxStaleness The maximum replication lag of a secondary to be read from, at least 90 seconds, 0 for no limit.
+     * @param maxSize The maximum number of connections per server.
+     * @param minSize The number of connections kept open per server.
+     * @param maxConnecting The maximum number of connections being established concurrently per server.
+     * @param maxWaitTime The maximum time to wait for a connection before failing the operation.
+     * @return The query MongoTemplate instance
+     */
+    @Bean(name = QUERY_MONGO_TEMPLATE, defaultCandidate = false)
+    public MongoTemplate queryMongoTemplate(
+            MongoClientSettings mongoClientSettings,
+            ObjectProvider<MongoClientSettingsBuilderCustomizer> mongoClientSettingsBuilderCustomizers,
+            MongoDatabaseFactory mongoDatabaseFactory,
+            MongoConverter mongoConverter,
+            @Value("${license.mongo.query.read-preference:secondaryPreferred}") String readPreference,
+            @Value("${license.mongo.query.max-staleness:90s}") Duration maxStaleness,
+            @Value("${license.mongo.query.pool.max-size:100}") int maxSize,
+            @Value("${license.mongo.query.pool.min-size:0}") int minSize,
+            @Value("${license.mongo.query.pool.max-connecting:2}") int maxConnecting,
+            @Value("${license.mongo.query.pool.max-wait-time:2m}") Duration maxWaitTime) {
+
+        List<MongoClientSettingsBuilderCustomizer> customizers =
+                new ArrayList<>(mongoClientSettingsBuilderCustomizers.orderedStream().toList());
+        customizers.add(settings -> settings
+                .readPreference(maxStaleness.isZero()
+                        ? ReadPreference.valueOf(readPreference)
+                        : ReadPreference.valueOf(readPreference, List.of(), maxStaleness.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(maxSize)
+                        .minSize(minSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS)));
+
+        MongoClient queryMongoClient = new MongoClientFactory(customizers).createMongoClient(mongoClientSettings);
+        queryMongoClients.add(queryMongoClient);
+
+        return new MongoTemplate(
+                new SimpleMongoClientDatabaseFactory(queryMongoClient, mongoDatabaseFactory.getMongoDatabase().getName()),
+                mongoConverter);
+    }
+
+    @Bean(name = QUERY_LICENSE_REPOSITORY, defaultCandidate = false)
+    public LicenseRepository queryLicenseRepository(@Qualifier(QUERY_MONGO_TEMPLATE) MongoTemplate queryMongoTemplate) {
+
+        return new MongoRepositoryFactory(queryMongoTemplate).getRepository(
+                LicenseRepository.class,
+                RepositoryFragments.just(new LicenseRepositoryCustomImpl(queryMongoTemplate)));
+    }
+
+    /**
+     * The query Mongo client is not a bean, Spring Boot would back off its own client otherwise.
+     */
+    @PreDestroy
+    public void closeQueryMongoClients() {
+        queryMongoClients.forEach(MongoClient::close);
+    }
+}
@@ -0,0 +1,24 @@
+package com.optimagrowth.license.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    /**
+     * Tomcat is on the classpath for the servlet mode and would otherwise be preferred by Spring Boot
+     * to serve the reactive mode too. Reactor Netty is declared explicitly so that the reactive mode
+     * runs on an event loop rather than on the servlet container.
+     *
+     * @return The ReactiveWebServerFactory instance
+     */
+    @Bean
+    public ReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
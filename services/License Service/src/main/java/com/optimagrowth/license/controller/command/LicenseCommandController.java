@@ -5,58 +5,107 @@ import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.optimagrowth.commonlibrary.core.common.GenericResponse;
 import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
 import com.optimagrowth.license.service.command.LicenseCommandService;
-import com.optimagrowth.license.validation.annotation.LicenseIdPathVariableExists;
-import jakarta.validation.Valid;
+import com.optimagrowth.license.utils.LicenseETags;
+import com.optimagrowth.license.validation.group.UniquenessChecks;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 
 @Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/organization/{organizationId}/license")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class LicenseCommandController {
 
     private final LicenseCommandService licenseCommandService;
 
     @PostMapping("/create")
     public ResponseEntity<GenericResponse<CreateLicenseResponse>> createLicense(
-            @Valid
+            @Validated({Default.class, UniquenessChecks.class})
             @RequestBody
             CreateLicenseRequest createLicenseRequest,
             @PathVariable
             String organizationId) {
 
+        CreateLicenseResponse createLicenseResponse =
+                licenseCommandService.createLicense(createLicenseRequest, organizationId);
+
         return ResponseEntity
                 .status(HttpStatus.CREATED)
+                .eTag(LicenseETags.of(createLicenseResponse.id(), createLicenseResponse.version()))
                 .body(GenericResponse.success(
-                        licenseCommandService.createLicense(createLicenseRequest, organizationId),
+                        createLicenseResponse,
                         translate("success.license.created.successfully")
                 ));
     }
 
+    @PostMapping("/create/bulk")
+    public ResponseEntity<GenericResponse<BulkCreateLicenseResponse>> createLicenses(
+            @RequestBody
+            @Size(min = 1, max = 5000, message = "{message.license.bulk.size.alert}")
+            List<CreateLicenseRequest> createLicenseRequests,
+            @PathVariable
+            String organizationId) {
+
+        BulkCreateLicenseResponse bulkCreateLicenseResponse =
+                licenseCommandService.createLicenses(createLicenseRequests, organizationId);
+
+        // Nothing created: the per-license report comes with a failure
+        if (bulkCreateLicenseResponse.created() == 0) {
+            return ResponseEntity
+                    .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(GenericResponse.error(
+                            bulkCreateLicenseResponse,
+                            translate("exception.licenses.bulk.none.created", createLicenseRequests.size())
+                    ));
+        }
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(GenericResponse.success(
+                        bulkCreateLicenseResponse,
+                        translate("success.licenses.bulk.created",
+                                bulkCreateLicenseResponse.created(), createLicenseRequests.size())
+                ));
+    }
+
     @PatchMapping("/{licenseId}")
     public ResponseEntity<GenericResponse<UpdateLicenseResponse>> updateLicense(
             @PathVariable
-            @LicenseIdPathVariableExists
             String licenseId,
             @PathVariable
             String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            String ifMatch,
             @RequestBody
             JsonPatch jsonPatch)
-            throws JsonPatchException, LicenseNotFoundException, JsonProcessingException {
+            throws JsonPatchException, LicenseNotFoundException, LicensePreconditionFailedException, JsonProcessingException {
+
+        UpdateLicenseResponse updateLicenseResponse = licenseCommandService.updateLicense(
+                licenseId, organizationId, LicenseETags.parseIfMatch(ifMatch, licenseId).orElse(null), jsonPatch);
 
         return ResponseEntity
-                .ok(GenericResponse.success(
-                        licenseCommandService.updateLicense(licenseId, organizationId, jsonPatch),
+                .ok()
+                .eTag(LicenseETags.of(updateLicenseResponse.id(), updateLicenseResponse.version()))
+                .body(GenericResponse.success(
+                        updateLicenseResponse,
                         translate("success.license.updated.successfully")
                 ));
     }
@@ -64,12 +113,14 @@ public class LicenseCommandController {
     @DeleteMapping("/{licenseId}")
     public ResponseEntity<GenericResponse<?>> deleteLicense(
             @PathVariable
-            @LicenseIdPathVariableExists
             String licenseId,
             @PathVariable
-            String organizationId) {
+            String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            String ifMatch) throws LicenseNotFoundException, LicensePreconditionFailedException {
 
-        licenseCommandService.deleteLicense(licenseId, organizationId);
+        licenseCommandService.deleteLicense(
+                licenseId, organizationId, LicenseETags.parseIfMatch(ifMatch, licenseId).orElse(null));
 
         return ResponseEntity
                 .status(HttpStatus.ACCEPTED)
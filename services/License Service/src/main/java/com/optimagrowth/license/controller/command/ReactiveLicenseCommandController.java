@@ -0,0 +1,123 @@
+package com.optimagrowth.license.controller.command;
+
+import com.github.fge.jsonpatch.JsonPatch;
+import com.optimagrowth.commonlibrary.core.common.GenericResponse;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
+import com.optimagrowth.license.service.command.ReactiveLicenseCommandService;
+import com.optimagrowth.license.utils.LicenseETags;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/organization/{organizationId}/license")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLicenseCommandController {
+
+    private final ReactiveLicenseCommandService reactiveLicenseCommandService;
+
+    @PostMapping("/create")
+    public Mono<ResponseEntity<GenericResponse<CreateLicenseResponse>>> createLicense(
+            @Validated
+            @RequestBody
+            CreateLicenseRequest createLicenseRequest,
+            @PathVariable
+            String organizationId) {
+
+        return reactiveLicenseCommandService
+                .createLicense(createLicenseRequest, organizationId)
+                .map(createLicenseResponse -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .eTag(LicenseETags.of(createLicenseResponse.id(), createLicenseResponse.version()))
+                        .body(GenericResponse.success(
+                                createLicenseResponse,
+                                translate("success.license.created.successfully")
+                        )));
+    }
+
+    @PostMapping("/create/bulk")
+    public Mono<ResponseEntity<GenericResponse<BulkCreateLicenseResponse>>> createLicenses(
+            @RequestBody
+            @Size(min = 1, max = 5000, message = "{message.license.bulk.size.alert}")
+            List<CreateLicenseRequest> createLicenseRequests,
+            @PathVariable
+            String organizationId) {
+
+        return reactiveLicenseCommandService
+                .createLicenses(createLicenseRequests, organizationId)
+                .map(bulkCreateLicenseResponse -> bulkCreateLicenseResponse.created() == 0
+                        // Nothing created: the per-license report comes with a failure
+                        ? ResponseEntity
+                                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                                .body(GenericResponse.error(
+                                        bulkCreateLicenseResponse,
+                                        translate("exception.licenses.bulk.none.created", createLicenseRequests.size())
+                                ))
+                        : ResponseEntity
+                                .status(HttpStatus.CREATED)
+                                .body(GenericResponse.success(
+                                        bulkCreateLicenseResponse,
+                                        translate("success.licenses.bulk.created",
+                                                bulkCreateLicenseResponse.created(), createLicenseRequests.size())
+                                )));
+    }
+
+    @PatchMapping("/{licenseId}")
+    public Mono<ResponseEntity<GenericResponse<UpdateLicenseResponse>>> updateLicense(
+            @PathVariable
+            String licenseId,
+            @PathVariable
+            String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            String ifMatch,
+            @RequestBody
+            JsonPatch jsonPatch) {
+
+        return Mono
+                .fromCallable(() -> LicenseETags.parseIfMatch(ifMatch, licenseId))
+                .flatMap(expectedVersion -> reactiveLicenseCommandService
+                        .updateLicense(licenseId, organizationId, expectedVersion.orElse(null), jsonPatch))
+                .map(updateLicenseResponse -> ResponseEntity
+                        .ok()
+                        .eTag(LicenseETags.of(updateLicenseResponse.id(), updateLicenseResponse.version()))
+                        .body(GenericResponse.success(
+                                updateLicenseResponse,
+                                translate("success.license.updated.successfully")
+                        )));
+    }
+
+    @DeleteMapping("/{licenseId}")
+    public Mono<ResponseEntity<GenericResponse<?>>> deleteLicense(
+            @PathVariable
+            String licenseId,
+            @PathVariable
+            String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            String ifMatch) {
+
+        return Mono
+                .fromCallable(() -> LicenseETags.parseIfMatch(ifMatch, licenseId))
+                .flatMap(expectedVersion -> reactiveLicenseCommandService
+                        .deleteLicense(licenseId, organizationId, expectedVersion.orElse(null)))
+                .then(Mono.fromSupplier(() -> ResponseEntity
+                        .status(HttpStatus.ACCEPTED)
+                        .body(GenericResponse.success(
+                                translate("success.license.deleted.successfully")
+                        ))));
+    }
+}
@@ -1,20 +1,41 @@
 package com.optimagrowth.license.controller.query;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.optimagrowth.commonlibrary.core.common.GenericResponse;
+import com.optimagrowth.license.dto.query.response.GetLicensePageResponse;
 import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
 import com.optimagrowth.license.service.query.LicenseQueryService;
-import com.optimagrowth.license.validation.annotation.LicenseIdPathVariableExists;
+import com.optimagrowth.license.utils.LicenseETags;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.bson.BsonBinaryReader;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 
@@ -22,34 +43,135 @@ import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/organization/{organizationId}/license")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class LicenseQueryController {
 
+    private static final byte NEW_LINE = '\n';
+
+    // Strings and numbers as plain JSON values, the only types of the raw license responses
+    private static final JsonWriterSettings RAW_JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .build();
+
+    private final ObjectMapper objectMapper;
     private final LicenseQueryService licenseQueryService;
 
+    /**
+     * Retrieves a license along with its strong entity tag.
+     * The license is read once, from the cache when present. When the If-None-Match header matches its
+     * current version, 304 is returned without serializing the license.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param ifNoneMatch The entity tags of the copies held by the client, if any.
+     * @return The license, or an empty 304 response if the client copy is up-to-date.
+     */
     @GetMapping("/{licenseId}")
     public ResponseEntity<GenericResponse<GetLicenseResponse>> retrieveLicense(
             @PathVariable
-            @LicenseIdPathVariableExists
             String licenseId,
             @PathVariable
-            String organizationId) throws LicenseNotFoundException {
+            String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch) throws LicenseNotFoundException {
+
+        GetLicenseResponse licenseResponse = licenseQueryService.retrieveLicense(licenseId, organizationId);
+        String currentETag = LicenseETags.of(licenseResponse.getId(), licenseResponse.getVersion());
+
+        if (LicenseETags.matches(ifNoneMatch, currentETag)) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .build();
+        }
 
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .eTag(currentETag)
                 .body(GenericResponse.success(
-                        licenseQueryService.retrieveLicense(licenseId, organizationId),
+                        licenseResponse,
                         translate("success.license.retrieved.successfully")));
     }
 
     @GetMapping("/all")
     public ResponseEntity<GenericResponse<List<GetLicenseResponse>>> retrieveAllLicenses(
             @PathVariable
-            String organizationId) {
+            String organizationId,
+            @RequestParam(required = false)
+            String cursor,
+            @RequestParam(defaultValue = "${license.query.page.default-size:50}")
+            @Positive(message = "{message.license.page.size.positive}")
+            int size) throws InvalidCursorException {
+
+        GetLicensePageResponse page = licenseQueryService.retrieveAllLicenses(organizationId, cursor, size);
 
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(GenericResponse.success(
-                        licenseQueryService.retrieveAllLicenses(organizationId),
-                        translate("success.licenses.retrieved.successfully")));
+                        page.licenses(),
+                        translate("success.licenses.retrieved.successfully"),
+                        page.next()));
+    }
+
+    /**
+     * Streams all the licenses of an organization as newline delimited JSON.
+     * Each license is written to the response as soon as it is read from the cursor,
+     * so memory use does not grow with the number of licenses of the organization.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return A streaming body writing one license per line.
+     */
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllLicenses(
+            @PathVariable
+            String organizationId) {
+
+        ObjectWriter licenseWriter = objectMapper.writerFor(GetLicenseResponse.class);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            try (Stream<GetLicenseResponse> licenses = licenseQueryService.streamAllLicenses(organizationId)) {
+                for (GetLicenseResponse license : (Iterable<GetLicenseResponse>) licenses::iterator) {
+                    outputStream.write(licenseWriter.writeValueAsBytes(license));
+                    outputStream.write(NEW_LINE);
+                }
+            }
+        };
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
+    /**
+     * Streams all the licenses of an organization as newline delimited JSON, written straight from the raw BSON
+     * documents returned by the server, already renamed and projected into the fields of the license responses.
+     * No license, response object or Jackson serializer is involved, unlike /all/stream which it can be compared with.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return A streaming body writing one license per line.
+     */
+    @GetMapping(value = "/all/raw", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRawLicenses(
+            @PathVariable
+            String organizationId) {
+
+        StreamingResponseBody responseBody = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try (Stream<RawBsonDocument> licenses = licenseQueryService.streamAllRawLicenses(organizationId)) {
+                for (RawBsonDocument license : (Iterable<RawBsonDocument>) licenses::iterator) {
+                    try (BsonBinaryReader reader = new BsonBinaryReader(license.getByteBuffer().asNIO())) {
+                        new JsonWriter(writer, RAW_JSON_SETTINGS).pipe(reader);
+                    }
+                    writer.write(NEW_LINE);
+                }
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
     }
 }
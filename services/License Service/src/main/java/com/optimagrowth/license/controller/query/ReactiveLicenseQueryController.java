@@ -0,0 +1,138 @@
+package com.optimagrowth.license.controller.query;
+
+import com.optimagrowth.commonlibrary.core.common.GenericResponse;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import com.optimagrowth.license.service.query.ReactiveLicenseQueryService;
+import com.optimagrowth.license.utils.LicenseETags;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/organization/{organizationId}/license")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLicenseQueryController {
+
+    private static final char NEW_LINE = '\n';
+
+    // Strings and numbers as plain JSON values, the only types of the raw license responses
+    private static final JsonWriterSettings RAW_JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .build();
+
+    private final ReactiveLicenseQueryService reactiveLicenseQueryService;
+
+    /**
+     * Retrieves a license along with its strong entity tag.
+     * The license is read once. When the If-None-Match header matches its current version,
+     * 304 is returned without serializing the license.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param ifNoneMatch The entity tags of the copies held by the client, if any.
+     * @return The license, or an empty 304 response if the client copy is up-to-date.
+     */
+    @GetMapping("/{licenseId}")
+    public Mono<ResponseEntity<GenericResponse<GetLicenseResponse>>> retrieveLicense(
+            @PathVariable
+            String licenseId,
+            @PathVariable
+            String organizationId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch) {
+
+        return reactiveLicenseQueryService
+                .retrieveLicense(licenseId, organizationId)
+                .map(licenseResponse -> {
+                    String currentETag = LicenseETags.of(licenseResponse.getId(), licenseResponse.getVersion());
+
+                    return LicenseETags.matches(ifNoneMatch, currentETag)
+                            ? ResponseEntity
+                                    .status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(currentETag)
+                                    .build()
+                            : ResponseEntity
+                                    .status(HttpStatus.OK)
+                                    .eTag(currentETag)
+                                    .body(GenericResponse.success(
+                                            licenseResponse,
+                                            translate("success.license.retrieved.successfully")));
+                });
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<GenericResponse<List<GetLicenseResponse>>>> retrieveAllLicenses(
+            @PathVariable
+            String organizationId,
+            @RequestParam(required = false)
+            String cursor,
+            @RequestParam(defaultValue = "${license.query.page.default-size:50}")
+            @Positive(message = "{message.license.page.size.positive}")
+            int size) throws InvalidCursorException {
+
+        return reactiveLicenseQueryService
+                .retrieveAllLicenses(organizationId, cursor, size)
+                .map(page -> ResponseEntity
+                        .status(HttpStatus.OK)
+                        .body(GenericResponse.success(
+                                page.licenses(),
+                                translate("success.licenses.retrieved.successfully"),
+                                page.next())));
+    }
+
+    /**
+     * Streams all the licenses of an organization, either as a JSON array or as newline delimited JSON.
+     * Each license is written to the response as soon as it is read from the cursor,
+     * and the cursor is only advanced as fast as the client reads the response.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return The licenses of the organization.
+     */
+    @GetMapping(value = "/all/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<GetLicenseResponse> streamAllLicenses(
+            @PathVariable
+            String organizationId) {
+
+        return reactiveLicenseQueryService.streamAllLicenses(organizationId);
+    }
+
+    /**
+     * Streams all the licenses of an organization as newline delimited JSON, written straight from the raw BSON
+     * documents returned by the server, already renamed and projected into the fields of the license responses.
+     * No license, response object or Jackson serializer is involved, unlike /all/stream which it can be compared with.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return One license per line.
+     */
+    @GetMapping(value = "/all/raw", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamAllRawLicenses(
+            @PathVariable
+            String organizationId) {
+
+        return reactiveLicenseQueryService
+                .streamAllRawLicenses(organizationId)
+                .map(license -> license.toJson(RAW_JSON_SETTINGS) + NEW_LINE);
+    }
+}
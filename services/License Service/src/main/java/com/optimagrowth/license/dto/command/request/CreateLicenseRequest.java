@@ -3,6 +3,7 @@ package com.optimagrowth.license.dto.command.request;
 import com.optimagrowth.license.define.LicenseType;
 import com.optimagrowth.license.validation.annotation.LicenseIdNotAlreadyExists;
 import com.optimagrowth.license.validation.annotation.ProductNameNotAlreadyExists;
+import com.optimagrowth.license.validation.group.UniquenessChecks;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,7 +11,7 @@ import jakarta.validation.constraints.Size;
 import javax.annotation.Nullable;
 
 public record CreateLicenseRequest(
-        @LicenseIdNotAlreadyExists
+        @LicenseIdNotAlreadyExists(groups = UniquenessChecks.class)
         @NotBlank(message = "{message.license.id.blank}")
         @Size(min = 3, max = 50, message = "{message.license.id.size.alert}")
         String licenseId,
@@ -19,7 +20,7 @@ public record CreateLicenseRequest(
         @Size(min = 3, max = 50, message = "{message.license.description.size.alert}")
         String description,
 
-        @ProductNameNotAlreadyExists
+        @ProductNameNotAlreadyExists(groups = UniquenessChecks.class)
         @NotBlank(message = "{message.license.product.name.blank}")
         @Size(min = 3, max = 50, message = "{message.license.product.name.size.alert}")
         String productName,
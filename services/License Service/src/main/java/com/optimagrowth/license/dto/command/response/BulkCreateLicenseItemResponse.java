@@ -0,0 +1,14 @@
+package com.optimagrowth.license.dto.command.response;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+public record BulkCreateLicenseItemResponse(
+        int index,
+        String licenseId,
+        boolean success,
+        @Nullable
+        CreateLicenseResponse license,
+        List<String> errors
+) {
+}
@@ -0,0 +1,10 @@
+package com.optimagrowth.license.dto.command.response;
+
+import java.util.List;
+
+public record BulkCreateLicenseResponse(
+        int created,
+        int failed,
+        List<BulkCreateLicenseItemResponse> items
+) {
+}
@@ -23,6 +23,7 @@ public record CreateLicenseResponse(
         LicenseType licenseType,
         @Nullable
         @Size(min = 3, max = 50, message = "{message.license.comment.size.alert}")
-        String comment
+        String comment,
+        Long version
 ) {
 }
@@ -0,0 +1,11 @@
+package com.optimagrowth.license.dto.query.response;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+public record GetLicensePageResponse(
+        List<GetLicenseResponse> licenses,
+        @Nullable
+        String next
+) {
+}
@@ -26,4 +26,5 @@ public class GetLicenseResponse extends RepresentationModel<GetLicenseResponse>
         @NotNull(message = "{message.license.type.null}")
         private LicenseType licenseType;
         private String comment;
+        private Long version;
 }
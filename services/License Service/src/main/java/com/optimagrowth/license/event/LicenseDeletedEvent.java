@@ -0,0 +1,11 @@
+package com.optimagrowth.license.event;
+
+/**
+ * Published by the command side once a license is deleted.
+ *
+ * @param id The document id of the deleted license.
+ * @param licenseId The license id of the deleted license.
+ * @param organizationId The organization id of the deleted license.
+ */
+public record LicenseDeletedEvent(String id, String licenseId, String organizationId) {
+}
@@ -0,0 +1,18 @@
+package com.optimagrowth.license.event;
+
+import com.optimagrowth.license.model.License;
+
+import java.util.List;
+
+/**
+ * Published by the command side once licenses are created or updated, with their saved state.
+ * The licenses are handed over to the listeners and must not be modified afterwards.
+ *
+ * @param licenses The saved licenses, along with their version.
+ */
+public record LicensesSavedEvent(List<License> licenses) {
+
+    public static LicensesSavedEvent of(License license) {
+        return new LicensesSavedEvent(List.of(license));
+    }
+}
@@ -3,18 +3,30 @@ package com.optimagrowth.license.exception;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.mongodb.MongoException;
 import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+/**
+ * License specific exception handlers. They only depend on the exception, so they serve both the servlet
+ * and the reactive controllers, and take precedence over the catch-all handlers of the global exception handlers.
+ */
 @RestControllerAdvice
 @RequiredArgsConstructor
-public class LicenseExceptionHandler extends ResponseEntityExceptionHandler {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LicenseExceptionHandler {
 
     private final ProblemBuilder problemBuilder;
 
@@ -32,6 +44,65 @@ public class LicenseExceptionHandler extends ResponseEntityExceptionHandler {
         return problemBuilder.buildGenericProblemDetail(exception.getLocalizedMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles {@link LicensePreconditionFailedException} by returning a ProblemDetail response.
+     *
+     * @param exception The LicensePreconditionFailedException that was thrown.
+     * @return A ProblemDetail object containing information about the error.
+     *         The HTTP status code is set to PRECONDITION_FAILED (412).
+     */
+    @ExceptionHandler(LicensePreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ProblemDetail handleLicensePreconditionFailedException(LicensePreconditionFailedException exception) {
+
+        return problemBuilder.buildGenericProblemDetail(exception.getLocalizedMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles {@link OptimisticLockingFailureException} by returning a ProblemDetail response.
+     * It is raised when a license is modified concurrently between its read and its save.
+     *
+     * @param exception The OptimisticLockingFailureException that was thrown.
+     * @return A ProblemDetail object containing information about the error.
+     *         The HTTP status code is set to CONFLICT (409).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ProblemDetail handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+
+        return problemBuilder.buildGenericProblemDetail(
+                translate("exception.license.concurrent.modification"), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles {@link InvalidCursorException} by returning a ProblemDetail response.
+     *
+     * @param exception The InvalidCursorException that was thrown.
+     * @return A ProblemDetail object containing information about the error.
+     *         The HTTP status code is set to BAD_REQUEST (400).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ProblemDetail handleInvalidCursorException(InvalidCursorException exception) {
+
+        return problemBuilder.buildGenericProblemDetail(exception.getLocalizedMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link DuplicateKeyException} by returning a ProblemDetail response.
+     * It is raised by the unique indexes when a license id or product name slips past the validators.
+     *
+     * @param exception The DuplicateKeyException that was thrown.
+     * @return A ProblemDetail object containing information about the error.
+     *         The HTTP status code is set to CONFLICT (409).
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ProblemDetail handleDuplicateKeyException(DuplicateKeyException exception) {
+
+        return problemBuilder.buildGenericProblemDetail(translate("exception.license.already.exists"), HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles {@link MongoException} by returning a ProblemDetail response.
      *
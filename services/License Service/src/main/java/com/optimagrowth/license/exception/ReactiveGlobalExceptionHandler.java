@@ -0,0 +1,150 @@
+package com.optimagrowth.license.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.optimagrowth.commonlibrary.api.component.ProblemBuilder;
+import io.micrometer.common.lang.NonNullApi;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+
+/**
+ * Reactive counterpart of the servlet GlobalExceptionHandler, answering the same problem details
+ * for the errors raised by the WebFlux infrastructure and the reactive controllers.
+ */
+@NonNullApi
+@RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private final ProblemBuilder problemBuilder;
+
+    /**
+     * Handles {@link WebExchangeBindException}, which occurs when the validation of a request body fails.
+     *
+     * @param exception The exception that was thrown due to an invalid request body.
+     * @param headers The HTTP headers of the request.
+     * @param statusCode The HTTP status code to be used in the response. In this case, it is always {@link HttpStatus#BAD_REQUEST}.
+     * @param exchange The current exchange.
+     *
+     * @return A {@link ResponseEntity} containing a {@link ProblemDetail} object that includes details about the validation errors.
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException exception,
+                                                                         HttpHeaders headers,
+                                                                         HttpStatusCode statusCode,
+                                                                         ServerWebExchange exchange) {
+
+        Map<String, List<String>> errorMessagesMap = new HashMap<>();
+        exception.getBindingResult()
+                .getAllErrors()
+                .forEach(error -> errorMessagesMap.computeIfAbsent(
+                        error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName(),
+                        k -> new ArrayList<>()).add(error.getDefaultMessage()));
+
+        ProblemDetail problemDetail = problemBuilder
+                .buildGenericProblemDetail(
+                        translate("exception.method.argument.not.valid"), BAD_REQUEST, errorMessagesMap);
+
+        return handleExceptionInternal(exception, problemDetail, headers, BAD_REQUEST, exchange);
+    }
+
+    /**
+     * Handles {@link ServerWebInputException}, which occurs when the request body, a parameter or a header
+     * cannot be read or converted.
+     *
+     * @param exception The exception that was thrown when the request input could not be read.
+     * @param headers The HTTP headers of the request.
+     * @param statusCode The HTTP status code to be used in the response. In this case, it is always {@link HttpStatus#BAD_REQUEST}.
+     * @param exchange The current exchange.
+     *
+     * @return A {@link ResponseEntity} containing a {@link ProblemDetail} object that encapsulates error information.
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleServerWebInputException(ServerWebInputException exception,
+                                                                        HttpHeaders headers,
+                                                                        HttpStatusCode statusCode,
+                                                                        ServerWebExchange exchange) {
+
+        ProblemDetail problemDetail = problemBuilder
+                .buildGenericProblemDetail(
+                        exception.getLocalizedMessage(), exception.getReason(), BAD_REQUEST);
+
+        return handleExceptionInternal(exception, problemDetail, headers, BAD_REQUEST, exchange);
+    }
+
+    /**
+     * Handles {@link ConstraintViolationException}, which occurs when constraints on method arguments or licenses are violated.
+     *
+     * @param exception The exception that was thrown due to constraint violations.
+     *
+     * @return A {@link ProblemDetail} object containing details about the constraint violations.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(BAD_REQUEST)
+    public ProblemDetail handleConstraintViolation(ConstraintViolationException exception) {
+
+        Map<String, List<String>> errorMessagesMap = new HashMap<>();
+        for (ConstraintViolation<?> constraintViolation : exception.getConstraintViolations()) {
+            errorMessagesMap.computeIfAbsent(
+                    String.valueOf(constraintViolation.getPropertyPath()), k -> new ArrayList<>())
+                    .add(constraintViolation.getMessage());
+        }
+
+        return problemBuilder
+                .buildGenericProblemDetail(
+                        translate("exception.method.argument.not.valid"), BAD_REQUEST, errorMessagesMap);
+    }
+
+    /**
+     * Handles {@link JsonProcessingException}, which occurs when a patched license cannot be converted back.
+     *
+     * @param exception The exception that was thrown due to a JSON processing issue.
+     *
+     * @return A {@link ProblemDetail} object containing details about the JSON processing error.
+     */
+    @ExceptionHandler(JsonProcessingException.class)
+    @ResponseStatus(BAD_REQUEST)
+    public ProblemDetail handleJsonProcessingException(JsonProcessingException exception) {
+
+        return problemBuilder.buildRuntimeProblemDetail(exception.getLocalizedMessage(), BAD_REQUEST);
+    }
+
+    /**
+     * Handles any uncaught {@link Exception} instances, providing a generic error handling mechanism for unexpected server-side errors.
+     *
+     * @param exception The uncaught exception that was thrown.
+     *
+     * @return A {@link ProblemDetail} object containing details about the server error.
+     */
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(INTERNAL_SERVER_ERROR)
+    public ProblemDetail handleException(Exception exception) {
+
+        return problemBuilder.buildRuntimeProblemDetail(exception.getLocalizedMessage(), INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,14 @@
+package com.optimagrowth.license.exception.runtine;
+
+import com.optimagrowth.commonlibrary.core.exception.DomainException;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+@EqualsAndHashCode(callSuper = true)
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,13 @@
 package com.optimagrowth.license.exception.runtine;
 
+import com.optimagrowth.commonlibrary.core.exception.DomainException;
 import lombok.EqualsAndHashCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
 @EqualsAndHashCode(callSuper = true)
-public class LicenseNotFoundException extends RuntimeException {
+public class LicenseNotFoundException extends DomainException {
     public LicenseNotFoundException(String message) {
         super(message);
     }
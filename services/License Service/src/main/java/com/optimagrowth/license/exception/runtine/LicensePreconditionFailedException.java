@@ -0,0 +1,14 @@
+package com.optimagrowth.license.exception.runtine;
+
+import com.optimagrowth.commonlibrary.core.exception.DomainException;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+@EqualsAndHashCode(callSuper = true)
+public class LicensePreconditionFailedException extends DomainException {
+    public LicensePreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -5,12 +5,19 @@ import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
 import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
 import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.model.LicenseView;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface LicenseMapper {
 
     GetLicenseResponse mapToGetLicenseResponse(License License);
+    GetLicenseResponse mapToGetLicenseResponse(LicenseSummary licenseSummary);
+    @Mapping(target = "id", source = "key.documentId")
+    @Mapping(target = "organizationId", source = "key.organizationId")
+    GetLicenseResponse mapToGetLicenseResponse(LicenseView licenseView);
     CreateLicenseResponse mapToCreateLicenseResponse(License license);
     UpdateLicenseResponse mapToUpdateLicenseResponse(License license);
     License mapToLicense(CreateLicenseRequest createLicenseRequest);
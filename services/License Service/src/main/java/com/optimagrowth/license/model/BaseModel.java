@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 
 import java.time.LocalDateTime;
 
@@ -17,4 +18,7 @@ public abstract class BaseModel {
 
     @LastModifiedDate
     private LocalDateTime updateAt;
+
+    @Version
+    private Long version;
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -15,6 +16,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(value = "license")
+@CompoundIndex(name = "organization_id_idx", def = "{'organizationId': 1, '_id': 1}")
+@CompoundIndex(name = "organization_id_license_id_idx", def = "{'organizationId': 1, 'licenseId': 1}")
 public class License extends BaseModel {
 
     @Indexed(unique = true)
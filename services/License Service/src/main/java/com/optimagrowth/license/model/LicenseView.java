@@ -0,0 +1,57 @@
+package com.optimagrowth.license.model;
+
+import com.optimagrowth.license.define.LicenseType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.time.Instant;
+
+/**
+ * Read model of a license, shaped like the license responses of the query side and maintained by the
+ * LicenseViewProjector from the license events.
+ * <p>
+ * The document id leads with the organization id, so that the licenses of an organization are adjacent in the
+ * _id index and a page of them is a single range read of it, in the order of the license document ids.
+ * A deleted license is kept for a day as a tombstone, so that a late event does not project it again.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Document(value = LicenseView.COLLECTION)
+@CompoundIndex(name = "organization_id_license_id_idx", def = "{'_id.organizationId': 1, 'licenseId': 1}")
+public class LicenseView {
+
+    public static final String COLLECTION = "license_view";
+
+    @Id
+    private Key key;
+
+    private String licenseId;
+    private String description;
+    private String productName;
+    private LicenseType licenseType;
+    private String comment;
+    private Long version;
+
+    private Instant projectedAt;
+    private boolean deleted;
+
+    @Indexed(name = "deleted_at_ttl_idx", expireAfter = "1d")
+    private Instant deletedAt;
+
+    /**
+     * @param organizationId The organization id of the license.
+     * @param documentId The document id of the license in the license collection.
+     */
+    public record Key(String organizationId, @Field(targetType = FieldType.OBJECT_ID) String documentId) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.optimagrowth.license.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field level changes to apply atomically to a license document.
+ *
+ * @param set The values to set, keyed by field name.
+ * @param unset The names of the fields to remove.
+ */
+public record LicenseChanges(
+        Map<String, Object> set,
+        Set<String> unset
+) {
+}
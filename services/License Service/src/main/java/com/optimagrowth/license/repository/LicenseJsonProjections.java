@@ -0,0 +1,42 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.client.model.Aggregates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.Arrays;
+
+/**
+ * Aggregation stages reshaping the license documents into the JSON of GetLicenseResponse on the server,
+ * so that the raw documents read can be written to the response as they are.
+ * The stages are built once: the fields are renamed, the ids turned into strings and the missing fields set to null
+ * in the order of the response, whatever the order of the stored fields.
+ */
+abstract class LicenseJsonProjections {
+
+    /**
+     * Reshapes a document of the license collection.
+     */
+    static final Bson LICENSE = Aggregates.replaceWith(licenseResponse("$_id", "$organizationId"));
+
+    /**
+     * Reshapes a document of the license_view collection.
+     */
+    static final Bson LICENSE_VIEW = Aggregates.replaceWith(licenseResponse("$_id.documentId", "$_id.organizationId"));
+
+    private static Document licenseResponse(String id, String organizationId) {
+        return new Document("id", new Document("$toString", id))
+                .append("licenseId", orNull("$licenseId"))
+                .append("description", orNull("$description"))
+                .append("organizationId", orNull(organizationId))
+                .append("productName", orNull("$productName"))
+                .append("licenseType", orNull("$licenseType"))
+                .append("comment", orNull("$comment"))
+                .append("version", orNull("$version"));
+    }
+
+    // A missing field would be left out of the reshaped document, where the response holds a null
+    private static Document orNull(String field) {
+        return new Document("$ifNull", Arrays.asList(field, null));
+    }
+}
@@ -0,0 +1,89 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Queries and updates shared by the blocking and reactive license repository fragments.
+ */
+abstract class LicenseQueries {
+
+    /**
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to match any version.
+     * @return The query selecting the license.
+     */
+    static Query licenseQuery(String licenseId, String organizationId, @Nullable LicenseVersion expectedVersion) {
+
+        Criteria criteria = where("licenseId").is(licenseId).and("organizationId").is(organizationId);
+        if (expectedVersion != null) {
+            criteria.and("id").is(expectedVersion.id()).and("version").is(expectedVersion.version());
+        }
+
+        return query(criteria);
+    }
+
+    /**
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to match any version.
+     * @return The driver filter selecting the license, licenseQuery mapped for the collection.
+     */
+    static Bson licenseFilter(String licenseId, String organizationId, @Nullable LicenseVersion expectedVersion) {
+
+        List<Bson> filters = new ArrayList<>(4);
+        filters.add(Filters.eq("licenseId", licenseId));
+        filters.add(Filters.eq("organizationId", organizationId));
+        if (expectedVersion != null) {
+            // Mapped like the repositories map the ids: stored as ObjectId when they are valid ones
+            String id = expectedVersion.id();
+            filters.add(Filters.eq("_id", ObjectId.isValid(id) ? new ObjectId(id) : id));
+            filters.add(Filters.eq("version", expectedVersion.version()));
+        }
+
+        return Filters.and(filters);
+    }
+
+    /**
+     * @param organizationId The organization id.
+     * @return The pipeline reading the licenses of an organization in the order of their document ids, reshaped on
+     * the server into the JSON fields of GetLicenseResponse.
+     */
+    static List<Bson> organizationLicensesPipeline(String organizationId) {
+        return List.of(
+                Aggregates.match(Filters.eq("organizationId", organizationId)),
+                Aggregates.sort(Sorts.ascending("_id")),
+                LicenseJsonProjections.LICENSE);
+    }
+
+    /**
+     * @param licenseChanges The fields to set and unset.
+     * @return The update applying the changes, refreshing the update date and incrementing the version.
+     */
+    static Update licenseUpdate(LicenseChanges licenseChanges) {
+
+        Update update = new Update();
+        licenseChanges.set().forEach(update::set);
+        licenseChanges.unset().forEach(update::unset);
+        update.set("updateAt", LocalDateTime.now());
+        update.inc("version", 1);
+
+        return update;
+    }
+}
@@ -0,0 +1,116 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.optimagrowth.license.repository.LicenseQueries.licenseFilter;
+import static com.optimagrowth.license.repository.LicenseQueries.organizationLicensesPipeline;
+
+/**
+ * Query plans of the license repository, explained on the server with placeholder keys so that the plans can be
+ * checked against the indexes without reading or writing any license.
+ * The queries are those the repository sends: the fragment queries are built by the same code, the derived queries
+ * are written out with the filter, sort and projection Spring Data maps them to.
+ */
+public abstract class LicenseQueryPlans {
+
+    private static final String ID = "_id";
+    private static final String LICENSE_ID = "licenseId";
+    private static final String PRODUCT_NAME = "productName";
+    private static final String ORGANIZATION_ID = "organizationId";
+
+    private static final String EXPLAINED_LICENSE_ID = "explained-license";
+    private static final String EXPLAINED_PRODUCT_NAME = "Explained product";
+    private static final String EXPLAINED_ORGANIZATION_ID = "explained-organization";
+
+    /**
+     * Explains the queries of the license repository, aside from streamAllLicenseKeysBy and
+     * initializeMissingVersions which read the whole collection by design.
+     *
+     * @param mongoTemplate The template of the license collection.
+     * @return The explain output of every query, in queryPlanner verbosity, keyed by the methods sending it.
+     */
+    public static Map<String, Document> explain(MongoTemplate mongoTemplate) {
+
+        LicenseRepositoryCustomImpl licenseRepositoryFragment = new LicenseRepositoryCustomImpl(mongoTemplate);
+        Bson license = licenseFilter(EXPLAINED_LICENSE_ID, EXPLAINED_ORGANIZATION_ID, null);
+        Bson organization = Filters.eq(ORGANIZATION_ID, EXPLAINED_ORGANIZATION_ID);
+
+        return mongoTemplate.execute(License.class, collection -> {
+            Map<String, Document> plans = new LinkedHashMap<>();
+            plans.put("existsByLicenseId", licenseRepositoryFragment
+                    .existenceQuery(Filters.eq(LICENSE_ID, EXPLAINED_LICENSE_ID), LICENSE_ID)
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("existsByProductName", licenseRepositoryFragment
+                    .existenceQuery(Filters.eq(PRODUCT_NAME, EXPLAINED_PRODUCT_NAME), PRODUCT_NAME)
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("existsByLicenseIdAndOrganizationId", licenseRepositoryFragment
+                    .existenceQuery(license, LICENSE_ID, ORGANIZATION_ID)
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("findByLicenseIdAndOrganizationId, findSummaryByLicenseIdAndOrganizationId, "
+                            + "deleteByLicenseIdAndOrganizationId, applyChanges",
+                    explain(collection, license, null));
+            plans.put("deleteVersion", explain(collection, licenseFilter(EXPLAINED_LICENSE_ID, EXPLAINED_ORGANIZATION_ID,
+                    new LicenseVersion(new ObjectId().toHexString(), 0L)), null));
+            plans.put("findByOrganizationIdOrderByIdAsc, streamAllByOrganizationId",
+                    explain(collection, organization, Sorts.ascending(ID)));
+            plans.put("findByOrganizationIdAndIdGreaterThanOrderByIdAsc",
+                    explain(collection, Filters.and(organization, Filters.gt(ID, new ObjectId())), Sorts.ascending(ID)));
+            plans.put("streamRawByOrganizationId", collection
+                    .aggregate(organizationLicensesPipeline(EXPLAINED_ORGANIZATION_ID))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("findLicenseIdsIn", collection
+                    .find(Filters.in(LICENSE_ID, EXPLAINED_LICENSE_ID))
+                    .projection(Projections.fields(Projections.include(LICENSE_ID), Projections.excludeId()))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("findProductNamesIn", collection
+                    .find(Filters.in(PRODUCT_NAME, EXPLAINED_PRODUCT_NAME))
+                    .projection(Projections.fields(Projections.include(PRODUCT_NAME), Projections.excludeId()))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+
+            return plans;
+        });
+    }
+
+    /**
+     * @param explain The explain output of a query.
+     * @return The stages of the winning plan, eg: IXSCAN, FETCH or COLLSCAN, the rejected plans aside.
+     */
+    public static List<String> stages(Document explain) {
+        List<String> stages = new ArrayList<>();
+        collectStages(explain, stages);
+
+        return stages;
+    }
+
+    private static Document explain(MongoCollection<Document> collection, Bson filter, @Nullable Bson sort) {
+        return collection.find(filter).sort(sort).explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    // The plan stages are nested differently depending on the command, the server version and the query engine
+    private static void collectStages(Object plan, List<String> stages) {
+        if (plan instanceof Document document) {
+            if (document.get("stage") instanceof String stage) stages.add(stage);
+            document.forEach((name, value) -> {
+                if (!name.equals("rejectedPlans")) collectStages(value, stages);
+            });
+        } else if (plan instanceof List<?> plans) {
+            plans.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
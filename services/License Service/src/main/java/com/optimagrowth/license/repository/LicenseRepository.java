@@ -1,18 +1,33 @@
 package com.optimagrowth.license.repository;
 
 import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LicenseRepository extends MongoRepository<License, String> {
+public interface LicenseRepository extends MongoRepository<License, String>, LicenseRepositoryCustom {
 
-    boolean existsByLicenseId(String licenseId);
-    boolean existsByProductName(String productName);
     Optional<License> findByLicenseIdAndOrganizationId(String licenseId, String organizationId);
-    void deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId);
-    List<License> findAllByOrganizationId(String organizationId);
+    Optional<LicenseSummary> findSummaryByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+    List<LicenseSummary> findByOrganizationIdOrderByIdAsc(String organizationId, Limit limit);
+    List<LicenseSummary> findByOrganizationIdAndIdGreaterThanOrderByIdAsc(String organizationId, String id, Limit limit);
+    Stream<LicenseSummary> streamAllByOrganizationId(String organizationId);
+
+    @Query(value = "{}", fields = "{ '_id' : 0, 'licenseId' : 1, 'productName' : 1 }")
+    Stream<License> streamAllLicenseKeysBy();
+
+    // Covered by the licenseId and productName indexes, _id excluded
+    @Query(value = "{ 'licenseId' : { $in : ?0 } }", fields = "{ '_id' : 0, 'licenseId' : 1 }")
+    List<License> findLicenseIdsIn(Collection<String> licenseIds);
+
+    @Query(value = "{ 'productName' : { $in : ?0 } }", fields = "{ '_id' : 0, 'productName' : 1 }")
+    List<License> findProductNamesIn(Collection<String> productNames);
 }
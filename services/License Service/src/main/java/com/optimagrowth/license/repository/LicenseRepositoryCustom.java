@@ -0,0 +1,98 @@
+package com.optimagrowth.license.repository;
+
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.RawBsonDocument;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface LicenseRepositoryCustom {
+
+    /**
+     * Checks that a license id is taken with a covered query, answered from the licenseId index alone.
+     *
+     * @param licenseId The license id.
+     * @return true if a license has this id.
+     */
+    boolean existsByLicenseId(String licenseId);
+
+    /**
+     * Checks that a product name is taken with a covered query, answered from the productName index alone.
+     *
+     * @param productName The product name.
+     * @return true if a license has this product name.
+     */
+    boolean existsByProductName(String productName);
+
+    /**
+     * Checks that a license exists in an organization with a query covered by the organization_id_license_id_idx
+     * index, reading its license id and organization id only.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @return true if the license exists in the organization.
+     */
+    boolean existsByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+
+    /**
+     * Inserts the licenses with a single unordered insertMany, so that a failing license does not stop the others.
+     *
+     * @param licenses The licenses to insert, with their ids already assigned.
+     * @return The Mongo error code of every license that could not be inserted, keyed by its position in the list.
+     */
+    Map<Integer, Integer> insertUnordered(List<License> licenses);
+
+    /**
+     * Applies the changes to the license with a single findAndModify, refreshing its update date
+     * and incrementing its version.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to apply the changes unconditionally.
+     * @param licenseChanges The fields to set and unset.
+     * @return The license as modified, or empty if it does not exist or no longer has the expected version.
+     */
+    Optional<License> applyChanges(String licenseId, String organizationId,
+                                   @Nullable LicenseVersion expectedVersion, LicenseChanges licenseChanges);
+
+    /**
+     * Deletes the license with a single findOneAndDelete returning its document id only, without reading it first.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @return The document id of the deleted license, or empty if it does not exist.
+     */
+    Optional<String> deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+
+    /**
+     * Deletes the license with a single deleteOne, only if it still has the expected id and version.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have.
+     * @return The number of deleted licenses, 0 or 1.
+     */
+    long deleteVersion(String licenseId, String organizationId, LicenseVersion expectedVersion);
+
+    /**
+     * Sets the version of the licenses stored before versioning was introduced to 0,
+     * so that they are updated rather than inserted again when saved.
+     *
+     * @return The number of licenses initialized.
+     */
+    long initializeMissingVersions();
+
+    /**
+     * Streams the licenses of an organization in the order of their ids, reshaped on the server into the JSON
+     * fields of GetLicenseResponse and read as raw BSON, without being decoded into licenses.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @param organizationId The organization id.
+     * @return A lazy stream of raw license responses.
+     */
+    Stream<RawBsonDocument> streamRawByOrganizationId(String organizationId);
+}
@@ -0,0 +1,154 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.Projections;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.optimagrowth.license.repository.LicenseQueries.licenseFilter;
+import static com.optimagrowth.license.repository.LicenseQueries.licenseQuery;
+import static com.optimagrowth.license.repository.LicenseQueries.licenseUpdate;
+import static com.optimagrowth.license.repository.LicenseQueries.organizationLicensesPipeline;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class LicenseRepositoryCustomImpl implements LicenseRepositoryCustom {
+
+    private static final String ID = "_id";
+    private static final String LICENSE_ID = "licenseId";
+    private static final String PRODUCT_NAME = "productName";
+    private static final String ORGANIZATION_ID = "organizationId";
+
+    private final MongoTemplate mongoTemplate;
+
+    // The derived exists queries count the matching documents with an aggregation, these find a single index entry
+    @Override
+    public boolean existsByLicenseId(String licenseId) {
+        return existenceQuery(Filters.eq(LICENSE_ID, licenseId), LICENSE_ID).first() != null;
+    }
+
+    @Override
+    public boolean existsByProductName(String productName) {
+        return existenceQuery(Filters.eq(PRODUCT_NAME, productName), PRODUCT_NAME).first() != null;
+    }
+
+    @Override
+    public boolean existsByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+        return existenceQuery(
+                Filters.and(Filters.eq(LICENSE_ID, licenseId), Filters.eq(ORGANIZATION_ID, organizationId)),
+                LICENSE_ID, ORGANIZATION_ID).first() != null;
+    }
+
+    @Override
+    public Map<Integer, Integer> insertUnordered(List<License> licenses) {
+        if (licenses.isEmpty()) return Map.of();
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, License.class)
+                    .insert(licenses)
+                    .execute();
+
+            return Map.of();
+        } catch (BulkOperationException exception) {
+            return exception.getErrors()
+                    .stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getCode));
+        }
+    }
+
+    @Override
+    public Optional<License> applyChanges(String licenseId, String organizationId,
+                                          @Nullable LicenseVersion expectedVersion, LicenseChanges licenseChanges) {
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                licenseQuery(licenseId, organizationId, expectedVersion),
+                licenseUpdate(licenseChanges),
+                FindAndModifyOptions.options().returnNew(true),
+                License.class));
+    }
+
+    @Override
+    public Optional<String> deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+
+        Document deletedLicense = mongoTemplate.execute(License.class, collection -> collection.findOneAndDelete(
+                licenseFilter(licenseId, organizationId, null),
+                new FindOneAndDeleteOptions().projection(Projections.include(ID))));
+
+        return Optional.ofNullable(deletedLicense).map(license -> license.get(ID).toString());
+    }
+
+    @Override
+    public long deleteVersion(String licenseId, String organizationId, LicenseVersion expectedVersion) {
+        return deleteLicense(licenseFilter(licenseId, organizationId, expectedVersion));
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+
+        return mongoTemplate
+                .updateMulti(query(where("version").exists(false)), Update.update("version", 0L), License.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public Stream<RawBsonDocument> streamRawByOrganizationId(String organizationId) {
+
+        MongoCursor<RawBsonDocument> cursor = mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(License.class))
+                .withDocumentClass(RawBsonDocument.class)
+                .aggregate(organizationLicensesPipeline(organizationId))
+                .cursor();
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    // The derived delete and MongoTemplate.remove map the query and issue a deleteMany, the license id is unique
+    private long deleteLicense(Bson filter) {
+        Long deletedCount = mongoTemplate.execute(License.class, collection -> collection.deleteOne(filter).getDeletedCount());
+
+        return deletedCount == null ? 0 : deletedCount;
+    }
+
+    /**
+     * The query of an existence check, projected on the queried fields without _id, so that it is covered by an
+     * index holding these fields and examines no document.
+     *
+     * @param filter The filter on the fields.
+     * @param fields The queried fields.
+     * @return The query, returning at most one document.
+     */
+    FindIterable<Document> existenceQuery(Bson filter, String... fields) {
+
+        return mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(License.class))
+                .find(filter)
+                .projection(Projections.fields(Projections.include(fields), Projections.excludeId()))
+                .limit(1);
+    }
+}
@@ -0,0 +1,281 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import com.optimagrowth.license.config.QueryMongoConfig;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.model.LicenseView;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads and writes the license_view read model, with the driver queries written out so that every read is the
+ * intended range read of the _id index: {_id: {$gt: {organizationId, documentId}, $lt: {organizationId, MaxKey}}}.
+ * Writes go to the primary, reads to the query side client.
+ * <p>
+ * Projections are idempotent and ordered by version: a license is only written over a view of the same or an older
+ * version, an older event arriving late fails on the duplicate _id and is ignored.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "license.view.enabled", havingValue = "true", matchIfMissing = true)
+public class LicenseViewRepository {
+
+    private static final String ID = "_id";
+    private static final String ORGANIZATION_ID = "organizationId";
+    private static final String DOCUMENT_ID = "documentId";
+    private static final String LICENSE_ID = "licenseId";
+    private static final String VERSION = "version";
+    private static final String PROJECTED_AT = "projectedAt";
+    private static final String DELETED = "deleted";
+    private static final String DELETED_AT = "deletedAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate queryMongoTemplate;
+
+    public LicenseViewRepository(MongoTemplate mongoTemplate,
+                                 @Qualifier(QueryMongoConfig.QUERY_MONGO_TEMPLATE) Optional<MongoTemplate> queryMongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMongoTemplate = queryMongoTemplate.orElse(mongoTemplate);
+    }
+
+    /**
+     * Projects the licenses into their views, unless their views are already of a newer version.
+     *
+     * @param licenses The saved licenses.
+     * @return The number of views written.
+     */
+    public int project(List<License> licenses) {
+        if (licenses.isEmpty()) return 0;
+
+        List<UpdateOneModel<Document>> projections = new ArrayList<>(licenses.size());
+        for (License license : licenses) {
+            projections.add(new UpdateOneModel<>(
+                    Filters.and(Filters.eq(ID, key(license.getOrganizationId(), new ObjectId(license.getId()))),
+                            Filters.lte(VERSION, license.getVersion())),
+                    Updates.combine(
+                            Updates.set(LICENSE_ID, license.getLicenseId()),
+                            Updates.set("description", license.getDescription()),
+                            Updates.set("productName", license.getProductName()),
+                            Updates.set("licenseType", license.getLicenseType() == null ? null : license.getLicenseType().name()),
+                            Updates.set("comment", license.getComment()),
+                            Updates.set(VERSION, license.getVersion()),
+                            // Server time, compared with the start of a rebuild whatever the clocks of the instances
+                            Updates.currentDate(PROJECTED_AT)),
+                    new UpdateOptions().upsert(true)));
+        }
+
+        try {
+            BulkWriteResult result = write().bulkWrite(projections, new BulkWriteOptions().ordered(false));
+
+            return result.getMatchedCount() + result.getUpserts().size();
+        } catch (MongoBulkWriteException exception) {
+            List<BulkWriteError> failures = exception.getWriteErrors().stream()
+                    .filter(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)
+                    .toList();
+            if (!failures.isEmpty()) throw exception;
+
+            // Only views already of a newer version
+            return licenses.size() - exception.getWriteErrors().size();
+        }
+    }
+
+    /**
+     * Turns the view of a deleted license into a tombstone, of the highest version so that no late event projects
+     * the license again. Tombstones are removed by the TTL index on deletedAt.
+     * The tombstone is upserted on the document id: a delete handled before the projection of the license still
+     * prevents it, and a license created again with the same license id, another document, is not affected.
+     *
+     * @param documentId The document id of the deleted license.
+     * @param organizationId The organization id of the deleted license.
+     * @return The number of views deleted, 0 or 1.
+     */
+    public long delete(String documentId, String organizationId) {
+        UpdateResult result = write()
+                .updateOne(
+                        Filters.eq(ID, key(organizationId, new ObjectId(documentId))),
+                        Updates.combine(
+                                Updates.set(DELETED, true),
+                                Updates.set(VERSION, Long.MAX_VALUE),
+                                Updates.currentDate(DELETED_AT)),
+                        new UpdateOptions().upsert(true));
+
+        return result.getUpsertedId() != null ? 1 : result.getModifiedCount();
+    }
+
+    /**
+     * Reads one page of the licenses of an organization, in the order of their document ids.
+     *
+     * @param organizationId The organization id.
+     * @param afterId The document id of the last license of the previous page, or null for the first page.
+     * @param limit The maximum number of licenses read.
+     * @return The views of the page.
+     */
+    public List<LicenseView> findPage(String organizationId, @Nullable String afterId, int limit) {
+        List<LicenseView> licenseViews = new ArrayList<>(limit);
+        try (MongoCursor<Document> cursor = read()
+                .find(organizationRange(organizationId, afterId))
+                .sort(Sorts.ascending(ID))
+                .limit(limit)
+                .cursor()) {
+            cursor.forEachRemaining(document -> licenseViews.add(toLicenseView(document)));
+        }
+
+        return licenseViews;
+    }
+
+    /**
+     * Streams the licenses of an organization, in the order of their document ids.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @param organizationId The organization id.
+     * @return A lazy stream of views.
+     */
+    public Stream<LicenseView> stream(String organizationId) {
+        MongoCursor<Document> cursor = read()
+                .find(organizationRange(organizationId, null))
+                .sort(Sorts.ascending(ID))
+                .cursor();
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(this::toLicenseView)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Streams the licenses of an organization in the order of their document ids, reshaped on the server into the
+     * JSON fields of GetLicenseResponse and read as raw BSON, without being decoded into views.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @param organizationId The organization id.
+     * @return A lazy stream of raw license responses.
+     */
+    public Stream<RawBsonDocument> streamRaw(String organizationId) {
+        MongoCursor<RawBsonDocument> cursor = read()
+                .withDocumentClass(RawBsonDocument.class)
+                .aggregate(List.of(
+                        Aggregates.match(organizationRange(organizationId, null)),
+                        Aggregates.sort(Sorts.ascending(ID)),
+                        LicenseJsonProjections.LICENSE_VIEW))
+                .cursor();
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * @return true if the read model holds no license, tombstones included.
+     */
+    public boolean isEmpty() {
+        return write().find().limit(1).first() == null;
+    }
+
+    /**
+     * @return The current time of the primary, comparable with the projection time of the views.
+     */
+    public Date serverTime() {
+        return mongoTemplate.executeCommand(new Document("hello", 1)).getDate("localTime");
+    }
+
+    /**
+     * Removes the views which have not been projected since the given time, tombstones aside.
+     * Used at the end of a rebuild, to remove the views of licenses deleted without their event being projected.
+     *
+     * @param projectedBefore The start of the rebuild.
+     * @return The number of views removed.
+     */
+    public long deleteNotProjectedSince(Date projectedBefore) {
+        return write()
+                .deleteMany(Filters.and(Filters.lt(PROJECTED_AT, projectedBefore), Filters.ne(DELETED, true)))
+                .getDeletedCount();
+    }
+
+    /**
+     * Explains the queries of the read model with placeholder keys, without reading or writing any view, aside from
+     * isEmpty and deleteNotProjectedSince which read the whole collection by design.
+     *
+     * @return The explain output of every query, in queryPlanner verbosity, keyed by the methods sending it.
+     */
+    public Map<String, Document> explainQueries() {
+        String organizationId = "explained-organization";
+
+        return mongoTemplate.execute(LicenseView.class, collection -> {
+            Map<String, Document> plans = new LinkedHashMap<>();
+            plans.put("findPage, stream", collection
+                    .find(organizationRange(organizationId, new ObjectId().toHexString()))
+                    .sort(Sorts.ascending(ID))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("streamRaw", collection
+                    .aggregate(List.of(
+                            Aggregates.match(organizationRange(organizationId, null)),
+                            Aggregates.sort(Sorts.ascending(ID)),
+                            LicenseJsonProjections.LICENSE_VIEW))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+            plans.put("project, delete", collection
+                    .find(Filters.eq(ID, key(organizationId, new ObjectId())))
+                    .explain(ExplainVerbosity.QUERY_PLANNER));
+
+            return plans;
+        });
+    }
+
+    private static Bson organizationRange(String organizationId, @Nullable String afterId) {
+        return Filters.and(
+                Filters.gt(ID, key(organizationId, afterId == null ? new MinKey() : new ObjectId(afterId))),
+                Filters.lt(ID, key(organizationId, new MaxKey())),
+                Filters.ne(DELETED, true));
+    }
+
+    // Embedded documents compare field by field, organizationId must come first
+    private static Document key(String organizationId, Object documentId) {
+        return new Document(ORGANIZATION_ID, organizationId).append(DOCUMENT_ID, documentId);
+    }
+
+    private LicenseView toLicenseView(Document document) {
+        return queryMongoTemplate.getConverter().read(LicenseView.class, document);
+    }
+
+    private MongoCollection<Document> write() {
+        return mongoTemplate.getCollection(LicenseView.COLLECTION);
+    }
+
+    private MongoCollection<Document> read() {
+        return queryMongoTemplate.getCollection(LicenseView.COLLECTION);
+    }
+}
@@ -0,0 +1,32 @@
+package com.optimagrowth.license.repository;
+
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive counterpart of {@link LicenseRepository}, only available in the reactive deployment mode.
+ */
+@Repository
+public interface ReactiveLicenseRepository extends ReactiveMongoRepository<License, String>, ReactiveLicenseRepositoryCustom {
+
+    Mono<Boolean> existsByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+    Mono<License> findByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+    Flux<License> findByOrganizationIdOrderByIdAsc(String organizationId);
+    Flux<LicenseSummary> findByOrganizationIdOrderByIdAsc(String organizationId, Limit limit);
+    Flux<LicenseSummary> findByOrganizationIdAndIdGreaterThanOrderByIdAsc(String organizationId, String id, Limit limit);
+
+    // Covered by the licenseId and productName indexes, _id excluded
+    @Query(value = "{ 'licenseId' : { $in : ?0 } }", fields = "{ '_id' : 0, 'licenseId' : 1 }")
+    Flux<License> findLicenseIdsIn(Collection<String> licenseIds);
+
+    @Query(value = "{ 'productName' : { $in : ?0 } }", fields = "{ '_id' : 0, 'productName' : 1 }")
+    Flux<License> findProductNamesIn(Collection<String> productNames);
+}
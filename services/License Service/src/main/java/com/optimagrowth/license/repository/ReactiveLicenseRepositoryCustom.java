@@ -0,0 +1,63 @@
+package com.optimagrowth.license.repository;
+
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveLicenseRepositoryCustom {
+
+    /**
+     * Applies the changes to the license with a single findAndModify, refreshing its update date
+     * and incrementing its version.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to apply the changes unconditionally.
+     * @param licenseChanges The fields to set and unset.
+     * @return The license as modified, or empty if it does not exist or no longer has the expected version.
+     */
+    Mono<License> applyChanges(String licenseId, String organizationId,
+                               @Nullable LicenseVersion expectedVersion, LicenseChanges licenseChanges);
+
+    /**
+     * Inserts the licenses with a single unordered bulk write, so that a failing license does not stop the others.
+     *
+     * @param licenses The licenses to insert, with their ids already assigned.
+     * @return The Mongo error code of every license that could not be inserted, keyed by its position in the list.
+     */
+    Mono<Map<Integer, Integer>> insertUnordered(List<License> licenses);
+
+    /**
+     * Deletes the license with a single findOneAndDelete returning its document id only, without reading it first.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @return The document id of the deleted license, or empty if it does not exist.
+     */
+    Mono<String> deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId);
+
+    /**
+     * Deletes the license with a single deleteOne, only if it still has the expected id and version.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have.
+     * @return The number of deleted licenses, 0 or 1.
+     */
+    Mono<Long> deleteVersion(String licenseId, String organizationId, LicenseVersion expectedVersion);
+
+    /**
+     * Streams the licenses of an organization in the order of their ids, reshaped on the server into the JSON
+     * fields of GetLicenseResponse and read as raw BSON, without being decoded into licenses.
+     *
+     * @param organizationId The organization id.
+     * @return The raw license responses.
+     */
+    Flux<RawBsonDocument> streamRawByOrganizationId(String organizationId);
+}
@@ -0,0 +1,106 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.DeleteResult;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import lombok.RequiredArgsConstructor;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.optimagrowth.license.repository.LicenseQueries.licenseFilter;
+import static com.optimagrowth.license.repository.LicenseQueries.licenseQuery;
+import static com.optimagrowth.license.repository.LicenseQueries.licenseUpdate;
+import static com.optimagrowth.license.repository.LicenseQueries.organizationLicensesPipeline;
+
+@RequiredArgsConstructor
+public class ReactiveLicenseRepositoryCustomImpl implements ReactiveLicenseRepositoryCustom {
+
+    private static final String ID = "_id";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<License> applyChanges(String licenseId, String organizationId,
+                                      @Nullable LicenseVersion expectedVersion, LicenseChanges licenseChanges) {
+
+        return reactiveMongoTemplate.findAndModify(
+                licenseQuery(licenseId, organizationId, expectedVersion),
+                licenseUpdate(licenseChanges),
+                FindAndModifyOptions.options().returnNew(true),
+                License.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, Integer>> insertUnordered(List<License> licenses) {
+        if (licenses.isEmpty()) return Mono.just(Map.of());
+
+        return reactiveMongoTemplate
+                .bulkOps(BulkOperations.BulkMode.UNORDERED, License.class)
+                .insert(licenses)
+                .execute()
+                .<Map<Integer, Integer>>map(result -> Map.of())
+                .onErrorResume(ReactiveLicenseRepositoryCustomImpl::writeErrors);
+    }
+
+    @Override
+    public Mono<String> deleteByLicenseIdAndOrganizationId(String licenseId, String organizationId) {
+
+        return reactiveMongoTemplate
+                .execute(License.class, collection -> collection.findOneAndDelete(
+                        licenseFilter(licenseId, organizationId, null),
+                        new FindOneAndDeleteOptions().projection(Projections.include(ID))))
+                .next()
+                .map(license -> license.get(ID).toString());
+    }
+
+    @Override
+    public Mono<Long> deleteVersion(String licenseId, String organizationId, LicenseVersion expectedVersion) {
+        return deleteLicense(licenseFilter(licenseId, organizationId, expectedVersion));
+    }
+
+    @Override
+    public Flux<RawBsonDocument> streamRawByOrganizationId(String organizationId) {
+
+        return reactiveMongoTemplate
+                .getCollection(reactiveMongoTemplate.getCollectionName(License.class))
+                .flatMapMany(collection -> collection
+                        .withDocumentClass(RawBsonDocument.class)
+                        .aggregate(organizationLicensesPipeline(organizationId)));
+    }
+
+    // The bulk write exception is translated, into a DuplicateKeyException when a license is a duplicate
+    private static Mono<Map<Integer, Integer>> writeErrors(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return Mono.just(bulkWriteException.getWriteErrors()
+                        .stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getCode)));
+            }
+        }
+
+        return Mono.error(exception);
+    }
+
+    // The derived delete and ReactiveMongoTemplate.remove map the query and issue a deleteMany, the license id is unique
+    private Mono<Long> deleteLicense(Bson filter) {
+        return reactiveMongoTemplate
+                .execute(License.class, collection -> collection.deleteOne(filter))
+                .next()
+                .map(DeleteResult::getDeletedCount)
+                .defaultIfEmpty(0L);
+    }
+}
@@ -0,0 +1,28 @@
+package com.optimagrowth.license.repository.projection;
+
+import com.optimagrowth.license.define.LicenseType;
+
+/**
+ * The fields of a license document returned by the query side, those of GetLicenseResponse.
+ * Read as a projection, so that the creation and update dates are never fetched.
+ *
+ * @param id The document id.
+ * @param licenseId The license id.
+ * @param description The license description.
+ * @param organizationId The organization id of the license.
+ * @param productName The licensed product name.
+ * @param licenseType The license type.
+ * @param comment The license comment, if any.
+ * @param version The document version.
+ */
+public record LicenseSummary(
+        String id,
+        String licenseId,
+        String description,
+        String organizationId,
+        String productName,
+        LicenseType licenseType,
+        String comment,
+        Long version
+) {
+}
@@ -0,0 +1,13 @@
+package com.optimagrowth.license.repository.projection;
+
+/**
+ * Identity and version of a license document, enough to compute or check its entity tag.
+ *
+ * @param id The document id.
+ * @param version The document version.
+ */
+public record LicenseVersion(
+        String id,
+        Long version
+) {
+}
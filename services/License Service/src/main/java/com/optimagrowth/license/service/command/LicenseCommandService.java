@@ -4,13 +4,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+
+import java.util.List;
 
 public interface LicenseCommandService {
 
     CreateLicenseResponse createLicense(CreateLicenseRequest createLicenseRequest, String organizationId);
-    UpdateLicenseResponse updateLicense(String licenseId, String organizationId, JsonPatch jsonPatch) throws LicenseNotFoundException, JsonPatchException, JsonProcessingException;
-    void deleteLicense(String licenseId, String organizationId);
+    BulkCreateLicenseResponse createLicenses(List<CreateLicenseRequest> createLicenseRequests, String organizationId);
+    UpdateLicenseResponse updateLicense(String licenseId, String organizationId, LicenseVersion expectedVersion, JsonPatch jsonPatch) throws LicenseNotFoundException, LicensePreconditionFailedException, JsonPatchException, JsonProcessingException;
+    void deleteLicense(String licenseId, String organizationId, LicenseVersion expectedVersion) throws LicenseNotFoundException, LicensePreconditionFailedException;
 }
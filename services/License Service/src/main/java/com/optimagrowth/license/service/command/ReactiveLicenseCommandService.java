@@ -0,0 +1,19 @@
+package com.optimagrowth.license.service.command;
+
+import com.github.fge.jsonpatch.JsonPatch;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveLicenseCommandService {
+
+    Mono<CreateLicenseResponse> createLicense(CreateLicenseRequest createLicenseRequest, String organizationId);
+    Mono<BulkCreateLicenseResponse> createLicenses(List<CreateLicenseRequest> createLicenseRequests, String organizationId);
+    Mono<UpdateLicenseResponse> updateLicense(String licenseId, String organizationId, LicenseVersion expectedVersion, JsonPatch jsonPatch);
+    Mono<Void> deleteLicense(String licenseId, String organizationId, LicenseVersion expectedVersion);
+}
@@ -0,0 +1,188 @@
+package com.optimagrowth.license.service.command.impl;
+
+import com.mongodb.ErrorCategory;
+import com.optimagrowth.license.component.LicenseExistenceFilter;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseItemResponse;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
+import com.optimagrowth.license.mapper.LicenseMapper;
+import com.optimagrowth.license.model.License;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+/**
+ * Outcome of a batch of licenses being created, shared by the blocking and the reactive command services so that
+ * both validate the batch and report its licenses alike. The repository calls are left to the services:
+ * one uniqueness query per field, then a single unordered insert of the licenses still valid.
+ */
+class LicenseBulkCreation {
+
+    private final List<CreateLicenseRequest> createLicenseRequests;
+    private final Map<Integer, List<String>> errorsByIndex = new HashMap<>();
+    private final Set<String> batchLicenseIds = new HashSet<>();
+    private final Set<String> batchProductNames = new HashSet<>();
+    private final List<Integer> requestIndexes = new ArrayList<>();
+    private final Map<Integer, License> createdByIndex = new HashMap<>();
+
+    /**
+     * Validates every request on its own, so that an invalid license does not prevent the others from being created,
+     * and rejects the requests reusing the license id or product name of a previous valid request.
+     *
+     * @param createLicenseRequests The licenses to create.
+     * @param validator The validator of the requests.
+     */
+    LicenseBulkCreation(List<CreateLicenseRequest> createLicenseRequests, Validator validator) {
+
+        this.createLicenseRequests = createLicenseRequests;
+
+        for (int index = 0; index < createLicenseRequests.size(); index++) {
+            CreateLicenseRequest createLicenseRequest = createLicenseRequests.get(index);
+            if (createLicenseRequest == null) {
+                errorsByIndex.put(index, List.of(translate("message.license.bulk.item.null")));
+                continue;
+            }
+
+            List<String> errors = validator.validate(createLicenseRequest)
+                    .stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toCollection(ArrayList::new));
+
+            // Only a valid license claims its keys, so that an invalid one does not reject a later valid duplicate
+            if (errors.isEmpty()) {
+                if (batchLicenseIds.contains(createLicenseRequest.licenseId())
+                        || batchProductNames.contains(createLicenseRequest.productName())) {
+                    errors.add(translate("message.license.bulk.duplicate"));
+                } else {
+                    batchLicenseIds.add(createLicenseRequest.licenseId());
+                    batchProductNames.add(createLicenseRequest.productName());
+                }
+            }
+
+            if (!errors.isEmpty()) errorsByIndex.put(index, errors);
+        }
+    }
+
+    /**
+     * @param licenseExistenceFilter The existence filter of the licenses.
+     * @return The license ids of the batch which may already exist, the only ones to look up.
+     */
+    Set<String> licenseIdsMightExist(LicenseExistenceFilter licenseExistenceFilter) {
+        return mightExist(batchLicenseIds, licenseExistenceFilter::mightContainLicenseId);
+    }
+
+    /**
+     * @param licenseExistenceFilter The existence filter of the licenses.
+     * @return The product names of the batch which may already exist, the only ones to look up.
+     */
+    Set<String> productNamesMightExist(LicenseExistenceFilter licenseExistenceFilter) {
+        return mightExist(batchProductNames, licenseExistenceFilter::mightContainProductName);
+    }
+
+    /**
+     * Rejects the valid requests whose license id or product name already exists, and maps the others.
+     *
+     * @param existingLicenseIds The license ids of the batch found in the repository.
+     * @param existingProductNames The product names of the batch found in the repository.
+     * @param organizationId The organization owning the licenses.
+     * @param licenseMapper The mapper of the requests.
+     * @return The licenses to insert, in the order of the requests, with their id and version assigned.
+     */
+    List<License> licensesToCreate(Set<String> existingLicenseIds, Set<String> existingProductNames,
+                                   String organizationId, LicenseMapper licenseMapper) {
+
+        List<License> licensesToCreate = new ArrayList<>();
+
+        for (int index = 0; index < createLicenseRequests.size(); index++) {
+            if (errorsByIndex.containsKey(index)) continue;
+
+            CreateLicenseRequest createLicenseRequest = createLicenseRequests.get(index);
+            List<String> errors = new ArrayList<>();
+            if (existingLicenseIds.contains(createLicenseRequest.licenseId()))
+                errors.add(translate("default.license.id.already.exists"));
+            if (existingProductNames.contains(createLicenseRequest.productName()))
+                errors.add(translate("default.license.product.name.already.exists"));
+
+            if (!errors.isEmpty()) {
+                errorsByIndex.put(index, errors);
+                continue;
+            }
+
+            License licenseToCreate = licenseMapper.mapToLicense(createLicenseRequest);
+            // Bulk inserts bypass the version initialization done by save
+            licenseToCreate.setId(new ObjectId().toHexString());
+            licenseToCreate.setVersion(0L);
+            licenseToCreate.setOrganizationId(organizationId);
+
+            requestIndexes.add(index);
+            licensesToCreate.add(licenseToCreate);
+        }
+
+        return licensesToCreate;
+    }
+
+    /**
+     * Records the outcome of the insert of the licenses returned by licensesToCreate.
+     *
+     * @param licensesToCreate The licenses returned by licensesToCreate.
+     * @param insertErrors The Mongo error code of every license that could not be inserted, keyed by its position.
+     * @return The created licenses.
+     */
+    List<License> created(List<License> licensesToCreate, Map<Integer, Integer> insertErrors) {
+
+        for (int position = 0; position < licensesToCreate.size(); position++) {
+            Integer errorCode = insertErrors.get(position);
+            if (errorCode == null) {
+                createdByIndex.put(requestIndexes.get(position), licensesToCreate.get(position));
+            } else {
+                errorsByIndex.put(requestIndexes.get(position), List.of(
+                        ErrorCategory.fromErrorCode(errorCode) == ErrorCategory.DUPLICATE_KEY
+                                ? translate("exception.license.already.exists")
+                                : translate("exception.license.bulk.insert.failed", errorCode)));
+            }
+        }
+
+        return List.copyOf(createdByIndex.values());
+    }
+
+    /**
+     * @param licenseMapper The mapper of the created licenses.
+     * @return The outcome of every license of the batch, in the order of the requests.
+     */
+    BulkCreateLicenseResponse response(LicenseMapper licenseMapper) {
+
+        List<BulkCreateLicenseItemResponse> items = new ArrayList<>(createLicenseRequests.size());
+        for (int index = 0; index < createLicenseRequests.size(); index++) {
+            CreateLicenseRequest createLicenseRequest = createLicenseRequests.get(index);
+            String licenseId = createLicenseRequest == null ? null : createLicenseRequest.licenseId();
+            License createdLicense = createdByIndex.get(index);
+
+            items.add(createdLicense != null
+                    ? new BulkCreateLicenseItemResponse(index, licenseId, true,
+                            licenseMapper.mapToCreateLicenseResponse(createdLicense), List.of())
+                    : new BulkCreateLicenseItemResponse(index, licenseId, false, null, errorsByIndex.get(index)));
+        }
+
+        return new BulkCreateLicenseResponse(
+                createdByIndex.size(), createLicenseRequests.size() - createdByIndex.size(), items);
+    }
+
+    private static Set<String> mightExist(Set<String> keys, Predicate<String> mightContain) {
+        return keys.stream()
+                .filter(Objects::nonNull)
+                .filter(mightContain)
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,30 +1,50 @@
 package com.optimagrowth.license.service.command.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
+import com.optimagrowth.license.component.LicenseCache;
+import com.optimagrowth.license.component.LicenseExistenceFilter;
+import com.optimagrowth.license.component.LicensePatchCompiler;
 import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
 import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
+import com.optimagrowth.license.event.LicenseDeletedEvent;
+import com.optimagrowth.license.event.LicensesSavedEvent;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
 import com.optimagrowth.license.mapper.LicenseMapper;
 import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseChanges;
 import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
 import com.optimagrowth.license.service.command.LicenseCommandService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.stream.Collectors;
+
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
 
 @Service
 @RequiredArgsConstructor
 public class LicenseServiceImpl implements LicenseCommandService {
 
-    private final ObjectMapper objectMapper;
+    private final Validator validator;
     private final LicenseMapper licenseMapper;
+    private final LicenseCache licenseCache;
     private final LicenseRepository licenseRepository;
+    private final LicenseExistenceFilter licenseExistenceFilter;
+    private final LicensePatchCompiler licensePatchCompiler;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
 
     @Override
@@ -34,33 +54,145 @@ public class LicenseServiceImpl implements LicenseCommandService {
         licenseToCreate.setOrganizationId(organizationId);
 
         licenseRepository.save(licenseToCreate);
+        licenseCache.evict(licenseToCreate.getLicenseId(), organizationId);
+        licenseExistenceFilter.put(licenseToCreate.getLicenseId(), licenseToCreate.getProductName());
+        applicationEventPublisher.publishEvent(LicensesSavedEvent.of(licenseToCreate));
 
         return licenseMapper.mapToCreateLicenseResponse(licenseToCreate);
     }
 
+    /**
+     * Creates a batch of licenses with one uniqueness query per field and a single unordered insertMany.
+     * Every request is validated on its own, so that an invalid license does not prevent the others from being created.
+     *
+     * @param createLicenseRequests The licenses to create.
+     * @param organizationId The organization owning the licenses.
+     * @return The outcome of every license of the batch, in the order of the requests.
+     */
     @Override
-    public UpdateLicenseResponse updateLicense(String licenseId, String organizationId, JsonPatch jsonPatch)
-            throws LicenseNotFoundException, JsonPatchException, JsonProcessingException {
+    public BulkCreateLicenseResponse createLicenses(List<CreateLicenseRequest> createLicenseRequests, String organizationId) {
+
+        LicenseBulkCreation bulkCreation = new LicenseBulkCreation(createLicenseRequests, validator);
+
+        Set<String> existingLicenseIds = licenseRepository
+                .findLicenseIdsIn(bulkCreation.licenseIdsMightExist(licenseExistenceFilter))
+                .stream()
+                .map(License::getLicenseId)
+                .collect(Collectors.toSet());
+        Set<String> existingProductNames = licenseRepository
+                .findProductNamesIn(bulkCreation.productNamesMightExist(licenseExistenceFilter))
+                .stream()
+                .map(License::getProductName)
+                .collect(Collectors.toSet());
+
+        List<License> licensesToCreate =
+                bulkCreation.licensesToCreate(existingLicenseIds, existingProductNames, organizationId, licenseMapper);
+        List<License> createdLicenses =
+                bulkCreation.created(licensesToCreate, licenseRepository.insertUnordered(licensesToCreate));
+
+        createdLicenses.forEach(license -> licenseExistenceFilter.put(license.getLicenseId(), license.getProductName()));
+        if (!createdLicenses.isEmpty()) {
+            applicationEventPublisher.publishEvent(new LicensesSavedEvent(createdLicenses));
+        }
+
+        return bulkCreation.response(licenseMapper);
+    }
 
-        License licenseToUpdate = licenseRepository.findByLicenseIdAndOrganizationId(licenseId, organizationId).orElseThrow(
-                () -> new LicenseNotFoundException(translate("exception.license.not.found.with.id", licenseId, organizationId))
-        );
-        License licensePatched = applyPatchToLicense(jsonPatch, licenseToUpdate);
-        licenseRepository.save(licensePatched);
+    /**
+     * Patches a license. Patches made of add/replace/remove operations on the patchable top level fields are compiled
+     * into a single atomic findAndModify; any other patch, a change of the licenseId or productName included, falls
+     * back to a read-modify-write of the document, guarded by the version of the license.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to patch it unconditionally.
+     * @param jsonPatch The patch to apply.
+     * @return The patched license.
+     * @throws LicensePreconditionFailedException If the license no longer has the expected version.
+     */
+    @Override
+    public UpdateLicenseResponse updateLicense(String licenseId, String organizationId,
+                                               @Nullable LicenseVersion expectedVersion, JsonPatch jsonPatch)
+            throws LicenseNotFoundException, LicensePreconditionFailedException, JsonPatchException, JsonProcessingException {
+
+        Optional<LicenseChanges> licenseChanges = licensePatchCompiler.compile(jsonPatch);
+
+        License licensePatched = licenseChanges.isPresent()
+                ? licenseRepository.applyChanges(licenseId, organizationId, expectedVersion, licenseChanges.get())
+                        .orElseThrow(() -> licenseNotFoundOrModified(licenseId, organizationId, expectedVersion))
+                : replaceLicense(licenseId, organizationId, expectedVersion, jsonPatch);
+
+        licenseCache.evict(licenseId, organizationId);
+        licenseExistenceFilter.put(licensePatched.getLicenseId(), licensePatched.getProductName());
+        applicationEventPublisher.publishEvent(LicensesSavedEvent.of(licensePatched));
 
         return licenseMapper.mapToUpdateLicenseResponse(licensePatched);
     }
 
+    /**
+     * Deletes a license with a single write, without loading it or checking its existence first: a findOneAndDelete
+     * projected on the document id, needed by the tombstone of the read model, or for a conditional delete a deleteOne
+     * on the expected id and version, which returns the deleted count. Nothing deleted means that the license does not
+     * exist, or, for a conditional delete, that it may no longer have the expected version, which is then the only
+     * case needing a second query.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to delete it unconditionally.
+     * @throws LicenseNotFoundException If the license does not exist.
+     * @throws LicensePreconditionFailedException If the license no longer has the expected version.
+     */
     @Override
-    public void deleteLicense(String licenseId, String organizationId) {
-        licenseRepository.deleteByLicenseIdAndOrganizationId(licenseId, organizationId);
+    public void deleteLicense(String licenseId, String organizationId, @Nullable LicenseVersion expectedVersion)
+            throws LicenseNotFoundException, LicensePreconditionFailedException {
+
+        Optional<String> deletedId = expectedVersion == null
+                ? licenseRepository.deleteByLicenseIdAndOrganizationId(licenseId, organizationId)
+                : Optional.of(expectedVersion.id())
+                        .filter(id -> licenseRepository.deleteVersion(licenseId, organizationId, expectedVersion) > 0);
+
+        String id = deletedId.orElseThrow(() -> licenseNotFoundOrModified(licenseId, organizationId, expectedVersion));
+
+        licenseCache.evict(licenseId, organizationId);
+        applicationEventPublisher.publishEvent(new LicenseDeletedEvent(id, licenseId, organizationId));
+    }
+
+    private License replaceLicense(String licenseId, String organizationId,
+                                   @Nullable LicenseVersion expectedVersion, JsonPatch jsonPatch)
+            throws LicenseNotFoundException, LicensePreconditionFailedException, JsonPatchException, JsonProcessingException {
+
+        License licenseToUpdate = licenseRepository.findByLicenseIdAndOrganizationId(licenseId, organizationId).orElseThrow(
+                () -> new LicenseNotFoundException(translate("exception.license.not.found.with.id", licenseId, organizationId))
+        );
+        if (expectedVersion != null && !expectedVersion.equals(
+                new LicenseVersion(licenseToUpdate.getId(), licenseToUpdate.getVersion()))) {
+            throw new LicensePreconditionFailedException(translate("exception.license.precondition.failed", licenseId));
+        }
+
+        License licensePatched = licensePatchCompiler.applyToLicense(jsonPatch, licenseToUpdate);
+        // The identity and version of the document are not patchable, the save is conditioned on the version read
+        licensePatched.setId(licenseToUpdate.getId());
+        licensePatched.setVersion(licenseToUpdate.getVersion());
+
+        Set<ConstraintViolation<License>> violations = validator.validate(licensePatched);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+
+        try {
+            return licenseRepository.save(licensePatched);
+        } catch (OptimisticLockingFailureException exception) {
+            if (expectedVersion == null) throw exception;
+
+            throw new LicensePreconditionFailedException(translate("exception.license.precondition.failed", licenseId));
+        }
     }
 
-    private License applyPatchToLicense(JsonPatch jsonPatch, License targetLicense)
-            throws JsonPatchException, JsonProcessingException {
+    private RuntimeException licenseNotFoundOrModified(String licenseId, String organizationId,
+                                                       @Nullable LicenseVersion expectedVersion) {
 
-        JsonNode jsonPatched =  jsonPatch.apply(objectMapper.convertValue(targetLicense, JsonNode.class));
+        if (expectedVersion != null && licenseRepository.existsByLicenseIdAndOrganizationId(licenseId, organizationId)) {
+            return new LicensePreconditionFailedException(translate("exception.license.precondition.failed", licenseId));
+        }
 
-        return objectMapper.treeToValue(jsonPatched,License.class);
+        return new LicenseNotFoundException(translate("exception.license.not.found.with.id", licenseId, organizationId));
     }
 }
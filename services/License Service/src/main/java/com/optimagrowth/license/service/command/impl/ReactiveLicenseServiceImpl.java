@@ -0,0 +1,202 @@
+package com.optimagrowth.license.service.command.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.optimagrowth.license.component.LicenseExistenceFilter;
+import com.optimagrowth.license.component.LicensePatchCompiler;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.CreateLicenseResponse;
+import com.optimagrowth.license.dto.command.response.UpdateLicenseResponse;
+import com.optimagrowth.license.event.LicenseDeletedEvent;
+import com.optimagrowth.license.event.LicensesSavedEvent;
+import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
+import com.optimagrowth.license.mapper.LicenseMapper;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.ReactiveLicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import com.optimagrowth.license.service.command.ReactiveLicenseCommandService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLicenseServiceImpl implements ReactiveLicenseCommandService {
+
+    private final Validator validator;
+    private final LicenseMapper licenseMapper;
+    private final ReactiveLicenseRepository reactiveLicenseRepository;
+    private final LicenseExistenceFilter licenseExistenceFilter;
+    private final LicensePatchCompiler licensePatchCompiler;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Creates a license. Uniqueness of the license id and product name is enforced by the unique indexes,
+     * a duplicate is reported as a conflict instead of being looked up beforehand.
+     *
+     * @param createLicenseRequest The license to create.
+     * @param organizationId The organization owning the license.
+     * @return The created license.
+     */
+    @Override
+    public Mono<CreateLicenseResponse> createLicense(CreateLicenseRequest createLicenseRequest, String organizationId) {
+
+        License licenseToCreate = licenseMapper.mapToLicense(createLicenseRequest);
+        licenseToCreate.setOrganizationId(organizationId);
+
+        return reactiveLicenseRepository
+                .insert(licenseToCreate)
+                .doOnNext(license -> licenseExistenceFilter.put(license.getLicenseId(), license.getProductName()))
+                .doOnNext(license -> applicationEventPublisher.publishEvent(LicensesSavedEvent.of(license)))
+                .map(licenseMapper::mapToCreateLicenseResponse);
+    }
+
+    /**
+     * Creates a batch of licenses with one uniqueness query per field and a single unordered bulk insert.
+     * Every request is validated on its own, so that an invalid license does not prevent the others from being created.
+     *
+     * @param createLicenseRequests The licenses to create.
+     * @param organizationId The organization owning the licenses.
+     * @return The outcome of every license of the batch, in the order of the requests.
+     */
+    @Override
+    public Mono<BulkCreateLicenseResponse> createLicenses(List<CreateLicenseRequest> createLicenseRequests, String organizationId) {
+
+        return Mono
+                .fromCallable(() -> new LicenseBulkCreation(createLicenseRequests, validator))
+                .flatMap(bulkCreation -> Mono
+                        .zip(reactiveLicenseRepository
+                                        .findLicenseIdsIn(bulkCreation.licenseIdsMightExist(licenseExistenceFilter))
+                                        .map(License::getLicenseId)
+                                        .collect(Collectors.toSet()),
+                                reactiveLicenseRepository
+                                        .findProductNamesIn(bulkCreation.productNamesMightExist(licenseExistenceFilter))
+                                        .map(License::getProductName)
+                                        .collect(Collectors.toSet()))
+                        .flatMap(existing -> {
+                            List<License> licensesToCreate = bulkCreation.licensesToCreate(
+                                    existing.getT1(), existing.getT2(), organizationId, licenseMapper);
+
+                            return reactiveLicenseRepository
+                                    .insertUnordered(licensesToCreate)
+                                    .map(insertErrors -> bulkCreation.created(licensesToCreate, insertErrors));
+                        })
+                        .map(createdLicenses -> {
+                            createdLicenses.forEach(license ->
+                                    licenseExistenceFilter.put(license.getLicenseId(), license.getProductName()));
+                            if (!createdLicenses.isEmpty()) {
+                                applicationEventPublisher.publishEvent(new LicensesSavedEvent(createdLicenses));
+                            }
+
+                            return bulkCreation.response(licenseMapper);
+                        }));
+    }
+
+    /**
+     * Patches a license. Patches made of add/replace/remove operations on the patchable top level fields are compiled
+     * into a single atomic findAndModify; any other patch, a change of the licenseId or productName included, falls
+     * back to a read-modify-write of the document, guarded by the version of the license.
+     *
+     * @param licenseId The license id.
+     * @param organizationId The organization id of the license.
+     * @param expectedVersion The id and version the license must still have, or null to patch it unconditionally.
+     * @param jsonPatch The patch to apply.
+     * @return The patched license.
+     */
+    @Override
+    public Mono<UpdateLicenseResponse> updateLicense(String licenseId, String organizationId,
+                                                     @Nullable LicenseVersion expectedVersion, JsonPatch jsonPatch) {
+
+        return Mono
+                .fromCallable(() -> licensePatchCompiler.compile(jsonPatch))
+                .flatMap(licenseChanges -> licenseChanges.isPresent()
+                        ? reactiveLicenseRepository
+                                .applyChanges(licenseId, organizationId, expectedVersion, licenseChanges.get())
+                                .switchIfEmpty(Mono.defer(() -> licenseNotFoundOrModified(licenseId, organizationId, expectedVersion)))
+                        : replaceLicense(licenseId, organizationId, expectedVersion, jsonPatch))
+                .doOnNext(license -> licenseExistenceFilter.put(license.getLicenseId(), license.getProductName()))
+                .doOnNext(license -> applicationEventPublisher.publishEvent(LicensesSavedEvent.of(license)))
+                .map(licenseMapper::mapToUpdateLicenseResponse);
+    }
+
+    @Override
+    public Mono<Void> deleteLicense(String licenseId, String organizationId, @Nullable LicenseVersion expectedVersion) {
+
+        Mono<String> deletedId = expectedVersion == null
+                ? reactiveLicenseRepository.deleteByLicenseIdAndOrganizationId(licenseId, organizationId)
+                : reactiveLicenseRepository.deleteVersion(licenseId, organizationId, expectedVersion)
+                        .filter(count -> count > 0)
+                        .map(count -> expectedVersion.id());
+
+        return deletedId
+                .switchIfEmpty(Mono.defer(() -> licenseNotFoundOrModified(licenseId, organizationId, expectedVersion)))
+                .flatMap(id -> Mono.fromRunnable(() -> applicationEventPublisher.publishEvent(
+                        new LicenseDeletedEvent(id, licenseId, organizationId))));
+    }
+
+    private Mono<License> replaceLicense(String licenseId, String organizationId,
+                                         @Nullable LicenseVersion expectedVersion, JsonPatch jsonPatch) {
+
+        return reactiveLicenseRepository
+                .findByLicenseIdAndOrganizationId(licenseId, organizationId)
+                .switchIfEmpty(Mono.error(() -> new LicenseNotFoundException(
+                        translate("exception.license.not.found.with.id", licenseId, organizationId))))
+                .flatMap(licenseToUpdate -> {
+                    if (expectedVersion != null && !expectedVersion.equals(
+                            new LicenseVersion(licenseToUpdate.getId(), licenseToUpdate.getVersion()))) {
+                        return Mono.error(new LicensePreconditionFailedException(
+                                translate("exception.license.precondition.failed", licenseId)));
+                    }
+
+                    return Mono.fromCallable(() -> patchLicense(jsonPatch, licenseToUpdate));
+                })
+                .flatMap(reactiveLicenseRepository::save)
+                .onErrorMap(
+                        exception -> expectedVersion != null && exception instanceof OptimisticLockingFailureException,
+                        exception -> new LicensePreconditionFailedException(
+                                translate("exception.license.precondition.failed", licenseId)));
+    }
+
+    private License patchLicense(JsonPatch jsonPatch, License licenseToUpdate)
+            throws JsonPatchException, JsonProcessingException {
+
+        License licensePatched = licensePatchCompiler.applyToLicense(jsonPatch, licenseToUpdate);
+        // The identity and version of the document are not patchable, the save is conditioned on the version read
+        licensePatched.setId(licenseToUpdate.getId());
+        licensePatched.setVersion(licenseToUpdate.getVersion());
+
+        Set<ConstraintViolation<License>> violations = validator.validate(licensePatched);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+
+        return licensePatched;
+    }
+
+    private <T> Mono<T> licenseNotFoundOrModified(String licenseId, String organizationId,
+                                                  @Nullable LicenseVersion expectedVersion) {
+
+        Mono<Boolean> exists = expectedVersion == null
+                ? Mono.just(false)
+                : reactiveLicenseRepository.existsByLicenseIdAndOrganizationId(licenseId, organizationId);
+
+        return exists.flatMap(licenseExists -> Mono.error(licenseExists
+                ? new LicensePreconditionFailedException(translate("exception.license.precondition.failed", licenseId))
+                : new LicenseNotFoundException(translate("exception.license.not.found.with.id", licenseId, organizationId))));
+    }
+}
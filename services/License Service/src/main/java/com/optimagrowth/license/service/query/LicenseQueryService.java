@@ -1,12 +1,17 @@
 package com.optimagrowth.license.service.query;
 
+import com.optimagrowth.license.dto.query.response.GetLicensePageResponse;
 import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import org.bson.RawBsonDocument;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface LicenseQueryService {
 
     GetLicenseResponse retrieveLicense(String licenseId, String organizationId) throws LicenseNotFoundException;
-    List<GetLicenseResponse> retrieveAllLicenses(String organizationId);
+    GetLicensePageResponse retrieveAllLicenses(String organizationId, String cursor, int size) throws InvalidCursorException;
+    Stream<GetLicenseResponse> streamAllLicenses(String organizationId);
+    Stream<RawBsonDocument> streamAllRawLicenses(String organizationId);
 }
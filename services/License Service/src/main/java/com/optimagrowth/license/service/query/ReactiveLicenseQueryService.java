@@ -0,0 +1,17 @@
+package com.optimagrowth.license.service.query;
+
+import com.optimagrowth.license.dto.query.response.GetLicensePageResponse;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLicenseQueryService {
+
+    Mono<GetLicenseResponse> retrieveLicense(String licenseId, String organizationId) throws LicenseNotFoundException;
+    Mono<GetLicensePageResponse> retrieveAllLicenses(String organizationId, String cursor, int size) throws InvalidCursorException;
+    Flux<GetLicenseResponse> streamAllLicenses(String organizationId);
+    Flux<RawBsonDocument> streamAllRawLicenses(String organizationId);
+}
@@ -1,60 +1,163 @@
 package com.optimagrowth.license.service.query.impl;
 
-import com.optimagrowth.license.controller.command.LicenseCommandController;
-import com.optimagrowth.license.controller.query.LicenseQueryController;
-import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.component.LicenseCache;
+import com.optimagrowth.license.component.LicenseLinkRegistry;
+import com.optimagrowth.license.config.QueryMongoConfig;
+import com.optimagrowth.license.dto.query.response.GetLicensePageResponse;
 import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
 import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
 import com.optimagrowth.license.mapper.LicenseMapper;
 import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.LicenseViewRepository;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
 import com.optimagrowth.license.service.query.LicenseQueryService;
-import lombok.RequiredArgsConstructor;
+import com.optimagrowth.license.utils.LicenseCursors;
+import com.optimagrowth.license.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import javax.annotation.Nullable;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
-@RequiredArgsConstructor
 public class LicenseQueryServiceImpl implements LicenseQueryService {
 
+    private static final String LICENSE_PAGES = "license-pages";
+
+    private final LicenseCache licenseCache;
+    private final LicenseLinkRegistry licenseLinkRegistry;
     private final LicenseMapper licenseMapper;
-    private final LicenseRepository licenseRepository;
+    private final LicenseRepository queryLicenseRepository;
+    @Nullable
+    private final LicenseViewRepository licenseViewRepository;
+    private final SingleFlight<PageKey, List<GetLicenseResponse>> pageLoads;
+
+    @Value("${license.query.page.max-size:500}")
+    private int maxPageSize;
+
+    public LicenseQueryServiceImpl(LicenseCache licenseCache,
+                                   LicenseLinkRegistry licenseLinkRegistry,
+                                   LicenseMapper licenseMapper,
+                                   @Qualifier(QueryMongoConfig.QUERY_LICENSE_REPOSITORY) LicenseRepository queryLicenseRepository,
+                                   Optional<LicenseViewRepository> licenseViewRepository,
+                                   MeterRegistry meterRegistry) {
+        this.licenseCache = licenseCache;
+        this.licenseLinkRegistry = licenseLinkRegistry;
+        this.licenseMapper = licenseMapper;
+        this.queryLicenseRepository = queryLicenseRepository;
+        this.licenseViewRepository = licenseViewRepository.orElse(null);
+        this.pageLoads = new SingleFlight<>(LICENSE_PAGES, meterRegistry);
+    }
 
     public GetLicenseResponse retrieveLicense(String licenseId, String organizationId) throws LicenseNotFoundException {
 
-        GetLicenseResponse licenseResponse = licenseRepository
-                .findByLicenseIdAndOrganizationId(licenseId, organizationId)
+        GetLicenseResponse licenseResponse = licenseCache
+                .findLicense(licenseId, organizationId)
                 .map(licenseMapper::mapToGetLicenseResponse)
                 .orElseThrow(
                         () -> new LicenseNotFoundException(translate(
                                 "exception.license.not.found.with.id", licenseId, organizationId)));
 
-        addLinks(licenseResponse, licenseId, organizationId);
+        licenseResponse.add(licenseLinkRegistry.licenseLinks(licenseId, organizationId));
 
         return licenseResponse;
     }
 
-    public List<GetLicenseResponse> retrieveAllLicenses(String organizationId) {
+    /**
+     * Retrieves one page of the licenses of an organization using keyset pagination on (organizationId, _id).
+     * Each page is a single range read of the license_view read model, or a bounded range scan of the
+     * organization_id_idx index of the license collection when the read model is disabled, whatever the depth
+     * of the page. Concurrent requests of the same page share a single read and the licenses it returned,
+     * which must not be modified.
+     *
+     * @param organizationId The organization whose licenses are retrieved.
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size, capped to the configured maximum.
+     * @return The page of licenses along with the cursor of the next page, null on the last page.
+     * @throws InvalidCursorException If the cursor has not been issued by this service.
+     */
+    public GetLicensePageResponse retrieveAllLicenses(String organizationId, String cursor, int size)
+            throws InvalidCursorException {
+
+        int pageSize = Math.min(size, maxPageSize);
+        String afterId = StringUtils.hasText(cursor) ? LicenseCursors.decode(cursor) : null;
+
+        List<GetLicenseResponse> licenses = pageLoads.execute(new PageKey(organizationId, afterId, pageSize),
+                () -> findLicenses(organizationId, afterId, pageSize + 1));
+
+        boolean hasNext = licenses.size() > pageSize;
+        List<GetLicenseResponse> page = hasNext ? licenses.subList(0, pageSize) : licenses;
+
+        return new GetLicensePageResponse(page, hasNext ? LicenseCursors.encode(page.getLast().getId()) : null);
+    }
+
+    /**
+     * Streams the licenses of an organization straight from the Mongo cursor, mapping each document lazily.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return A lazy stream of licenses.
+     */
+    public Stream<GetLicenseResponse> streamAllLicenses(String organizationId) {
+
+        if (licenseViewRepository != null) {
+            return licenseViewRepository
+                    .stream(organizationId)
+                    .map(licenseMapper::mapToGetLicenseResponse);
+        }
+
+        return queryLicenseRepository
+                .streamAllByOrganizationId(organizationId)
+                .map(licenseMapper::mapToGetLicenseResponse);
+    }
+
+    /**
+     * Streams the licenses of an organization as raw BSON documents already shaped like GetLicenseResponse,
+     * renamed and projected by the server, so that they can be written out as JSON without being decoded,
+     * mapped or serialized by Jackson. The licenses carry no links, like the pages of licenses.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return A lazy stream of raw license responses.
+     */
+    public Stream<RawBsonDocument> streamAllRawLicenses(String organizationId) {
+
+        if (licenseViewRepository != null) {
+            return licenseViewRepository.streamRaw(organizationId);
+        }
+
+        return queryLicenseRepository.streamRawByOrganizationId(organizationId);
+    }
+
+    private List<GetLicenseResponse> findLicenses(String organizationId, @Nullable String afterId, int limit) {
+
+        if (licenseViewRepository != null) {
+            return licenseViewRepository
+                    .findPage(organizationId, afterId, limit)
+                    .stream()
+                    .map(licenseMapper::mapToGetLicenseResponse)
+                    .toList();
+        }
+
+        List<LicenseSummary> licenses = afterId != null
+                ? queryLicenseRepository.findByOrganizationIdAndIdGreaterThanOrderByIdAsc(organizationId, afterId, Limit.of(limit))
+                : queryLicenseRepository.findByOrganizationIdOrderByIdAsc(organizationId, Limit.of(limit));
 
-        return licenseRepository
-                .findAllByOrganizationId(organizationId)
-                .stream()
+        return licenses.stream()
                 .map(licenseMapper::mapToGetLicenseResponse)
-                .collect(Collectors.toList());
+                .toList();
     }
 
-    private void addLinks(GetLicenseResponse response, String licenseId, String organizationId) {
-        response.add(
-                linkTo(methodOn(LicenseQueryController.class).retrieveLicense(organizationId, licenseId)).withSelfRel(),
-                linkTo(methodOn(LicenseCommandController.class).createLicense(
-                        new CreateLicenseRequest(licenseId, response.getDescription(), response.getProductName(), response.getLicenseType(), response.getComment()),
-                        organizationId)).withRel(translate("link.create.license")),
-                // linkTo(methodOn(LicenseCommandController.class).updateLicense(licenseId, organizationId, new JsonPatch())).withRel(translate("link.update.license"),
-                linkTo(methodOn(LicenseCommandController.class).deleteLicense(licenseId, organizationId)).withRel(translate("link.delete.license")));
+    private record PageKey(String organizationId, @Nullable String afterId, int size) {
     }
 }
@@ -0,0 +1,103 @@
+package com.optimagrowth.license.service.query.impl;
+
+import com.optimagrowth.license.dto.query.response.GetLicensePageResponse;
+import com.optimagrowth.license.dto.query.response.GetLicenseResponse;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import com.optimagrowth.license.exception.runtine.LicenseNotFoundException;
+import com.optimagrowth.license.mapper.LicenseMapper;
+import com.optimagrowth.license.repository.ReactiveLicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import com.optimagrowth.license.service.query.ReactiveLicenseQueryService;
+import com.optimagrowth.license.utils.LicenseCursors;
+import lombok.RequiredArgsConstructor;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLicenseQueryServiceImpl implements ReactiveLicenseQueryService {
+
+    private final LicenseMapper licenseMapper;
+    private final ReactiveLicenseRepository reactiveLicenseRepository;
+
+    @Value("${license.query.page.max-size:500}")
+    private int maxPageSize;
+
+    public Mono<GetLicenseResponse> retrieveLicense(String licenseId, String organizationId) throws LicenseNotFoundException {
+
+        return reactiveLicenseRepository
+                .findByLicenseIdAndOrganizationId(licenseId, organizationId)
+                .map(licenseMapper::mapToGetLicenseResponse)
+                .switchIfEmpty(Mono.error(() -> new LicenseNotFoundException(translate(
+                        "exception.license.not.found.with.id", licenseId, organizationId))));
+    }
+
+    /**
+     * Retrieves one page of the licenses of an organization using keyset pagination on (organizationId, _id),
+     * with the same cursors as the servlet deployment mode.
+     *
+     * @param organizationId The organization whose licenses are retrieved.
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @param size The requested page size, capped to the configured maximum.
+     * @return The page of licenses along with the cursor of the next page, null on the last page.
+     * @throws InvalidCursorException If the cursor has not been issued by this service, signalled by the Mono.
+     */
+    public Mono<GetLicensePageResponse> retrieveAllLicenses(String organizationId, String cursor, int size)
+            throws InvalidCursorException {
+
+        int pageSize = Math.min(size, maxPageSize);
+        String afterId;
+        try {
+            afterId = StringUtils.hasText(cursor) ? LicenseCursors.decode(cursor) : null;
+        } catch (InvalidCursorException exception) {
+            return Mono.error(exception);
+        }
+
+        Flux<LicenseSummary> licenses = afterId != null
+                ? reactiveLicenseRepository.findByOrganizationIdAndIdGreaterThanOrderByIdAsc(organizationId, afterId, Limit.of(pageSize + 1))
+                : reactiveLicenseRepository.findByOrganizationIdOrderByIdAsc(organizationId, Limit.of(pageSize + 1));
+
+        return licenses
+                .map(licenseMapper::mapToGetLicenseResponse)
+                .collectList()
+                .map(page -> page.size() > pageSize
+                        ? new GetLicensePageResponse(page.subList(0, pageSize), LicenseCursors.encode(page.get(pageSize - 1).getId()))
+                        : new GetLicensePageResponse(page, null));
+    }
+
+    /**
+     * Streams the licenses of an organization from the Mongo cursor, in the order of the organization_id_idx index.
+     * Documents are requested as the subscriber consumes them, so a slow client applies back-pressure to the cursor.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return The licenses of the organization.
+     */
+    public Flux<GetLicenseResponse> streamAllLicenses(String organizationId) {
+
+        return reactiveLicenseRepository
+                .findByOrganizationIdOrderByIdAsc(organizationId)
+                .map(licenseMapper::mapToGetLicenseResponse);
+    }
+
+    /**
+     * Streams the licenses of an organization as raw BSON documents already shaped like GetLicenseResponse,
+     * renamed and projected by the server, so that they can be written out as JSON without being decoded,
+     * mapped or serialized by Jackson.
+     *
+     * @param organizationId The organization whose licenses are streamed.
+     * @return The raw license responses.
+     */
+    public Flux<RawBsonDocument> streamAllRawLicenses(String organizationId) {
+
+        return reactiveLicenseRepository.streamRawByOrganizationId(organizationId);
+    }
+}
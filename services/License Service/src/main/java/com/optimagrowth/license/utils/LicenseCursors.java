@@ -0,0 +1,42 @@
+package com.optimagrowth.license.utils;
+
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+/**
+ * Opaque cursors of the pages of licenses: the document id of the last license of a page, base64url encoded.
+ * The next page starts right after that id in the (organizationId, _id) order.
+ */
+public abstract class LicenseCursors {
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor issued by {@link #encode(String)}.
+     *
+     * @param cursor The cursor returned with the previous page.
+     * @return The document id the next page starts after.
+     * @throws InvalidCursorException If the cursor does not hold a document id.
+     */
+    public static String decode(String cursor) throws InvalidCursorException {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (ObjectId.isValid(id)) {
+                return id;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Not a base64 token, reported below as an invalid cursor
+        }
+
+        throw new InvalidCursorException(translate("exception.license.cursor.invalid", cursor));
+    }
+}
@@ -0,0 +1,74 @@
+package com.optimagrowth.license.utils;
+
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.springframework.http.ETag;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+
+/**
+ * Strong entity tags of license resources, made of the document id and version: "{id}.{version}".
+ * The id is part of the tag so that a license deleted and created again never matches a stale tag.
+ */
+public abstract class LicenseETags {
+
+    private static final char SEPARATOR = '.';
+
+    public static String of(String id, Long version) {
+        return "\"" + id + SEPARATOR + version + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header against the current entity tag of a license, using weak comparison.
+     *
+     * @param ifNoneMatch The If-None-Match header value, possibly null.
+     * @param eTag The current entity tag.
+     * @return true if the client copy is up-to-date and a 304 can be returned.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (!StringUtils.hasText(ifNoneMatch)) return false;
+
+        String currentTag = ETag.create(eTag).tag();
+
+        return ETag.parse(ifNoneMatch)
+                .stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.tag().equals(currentTag));
+    }
+
+    /**
+     * Extracts the version a conditional write expects from an If-Match header.
+     *
+     * @param ifMatch The If-Match header value, possibly null.
+     * @param licenseId The license id, for the error message.
+     * @return The expected id and version, or empty if the write is unconditional (no header or "*").
+     * @throws LicensePreconditionFailedException If the header does not hold a single strong license tag.
+     */
+    public static Optional<LicenseVersion> parseIfMatch(String ifMatch, String licenseId)
+            throws LicensePreconditionFailedException {
+
+        if (!StringUtils.hasText(ifMatch)) return Optional.empty();
+
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.size() == 1 && eTags.getFirst().isWildcard()) return Optional.empty();
+
+        if (eTags.size() == 1 && !eTags.getFirst().weak()) {
+            String tag = eTags.getFirst().tag();
+            int separator = tag.lastIndexOf(SEPARATOR);
+
+            if (separator > 0) {
+                try {
+                    return Optional.of(new LicenseVersion(
+                            tag.substring(0, separator), Long.parseLong(tag.substring(separator + 1))));
+                } catch (NumberFormatException ignored) {
+                    // Not a license tag, reported below as a failed precondition
+                }
+            }
+        }
+
+        throw new LicensePreconditionFailedException(translate("exception.license.precondition.failed", licenseId));
+    }
+}
@@ -0,0 +1,86 @@
+package com.optimagrowth.license.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution: the first caller runs the call,
+ * the callers arriving while it is in flight wait for it and share its result, or its exception.
+ * Nothing is kept once the call completes, the next caller runs it again.
+ * <p>
+ * The shared result is handed to every waiting caller, so that it must not be modified by them.
+ * The calls are counted in the single.flight.calls metric, tagged with the name of the coalescer and with
+ * "executed" or "coalesced" as result.
+ *
+ * @param <K> The type of the keys identifying identical calls.
+ * @param <V> The type of the results.
+ */
+public class SingleFlight<K, V> {
+
+    private static final String METRIC = "single.flight.calls";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder(METRIC)
+                .description("Calls executed or coalesced with an identical call in flight")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC)
+                .description("Calls executed or coalesced with an identical call in flight")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call, unless an identical call is in flight in which case its result is awaited instead.
+     *
+     * @param key The key identifying identical calls.
+     * @param call The call to run.
+     * @return The result of the call, possibly computed for another caller.
+     */
+    public V execute(K key, Supplier<V> call) {
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> current = inFlight.putIfAbsent(key, flight);
+        if (current != null) {
+            coalesced.increment();
+            return await(current);
+        }
+
+        executed.increment();
+        try {
+            V result = call.get();
+            flight.complete(result);
+
+            return result;
+        } catch (RuntimeException | Error exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> current) {
+        try {
+            return current.join();
+        } catch (CompletionException exception) {
+            // Rethrown as thrown to the caller that ran the call
+            if (exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (exception.getCause() instanceof Error error) throw error;
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.optimagrowth.license.validation.group;
+
+/**
+ * Validation group of the constraints that query the repository to check the uniqueness of a license.
+ * They are left out of bulk validation, where uniqueness is checked once for the whole batch.
+ */
+public interface UniquenessChecks {
+}
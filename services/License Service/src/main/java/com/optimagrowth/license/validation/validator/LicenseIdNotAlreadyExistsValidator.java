@@ -1,5 +1,6 @@
 package com.optimagrowth.license.validation.validator;
 
+import com.optimagrowth.license.component.LicenseExistenceFilter;
 import com.optimagrowth.license.repository.LicenseRepository;
 import com.optimagrowth.license.validation.annotation.LicenseIdNotAlreadyExists;
 import jakarta.validation.ConstraintValidator;
@@ -11,10 +12,13 @@ import org.springframework.util.StringUtils;
 public class LicenseIdNotAlreadyExistsValidator implements ConstraintValidator<LicenseIdNotAlreadyExists, String> {
 
     private final LicenseRepository licenseRepository;
+    private final LicenseExistenceFilter licenseExistenceFilter;
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
         if(StringUtils.hasText(value)) {
+            if(!licenseExistenceFilter.mightContainLicenseId(value)) return true;
+
             return !licenseRepository.existsByLicenseId(value);
         }
 
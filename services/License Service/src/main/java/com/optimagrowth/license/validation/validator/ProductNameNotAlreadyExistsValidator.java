@@ -1,5 +1,6 @@
 package com.optimagrowth.license.validation.validator;
 
+import com.optimagrowth.license.component.LicenseExistenceFilter;
 import com.optimagrowth.license.repository.LicenseRepository;
 import com.optimagrowth.license.validation.annotation.ProductNameNotAlreadyExists;
 import jakarta.validation.ConstraintValidator;
@@ -11,9 +12,12 @@ import org.springframework.util.StringUtils;
 public class ProductNameNotAlreadyExistsValidator implements ConstraintValidator<ProductNameNotAlreadyExists, String> {
 
     private final LicenseRepository licenseRepository;
+    private final LicenseExistenceFilter licenseExistenceFilter;
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
         if(StringUtils.hasText(value)) {
+            if(!licenseExistenceFilter.mightContainProductName(value)) return true;
+
             return !licenseRepository.existsByProductName(value);
         }
 
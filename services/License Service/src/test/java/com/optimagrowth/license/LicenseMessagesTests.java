@@ -0,0 +1,67 @@
+package com.optimagrowth.license;
+
+import com.optimagrowth.commonlibrary.core.i18n.PrecompiledMessageSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the messages of the licensing service as served by PrecompiledMessageSource, where every message is a
+ * MessageFormat pattern: an apostrophe left unescaped would swallow the rest of its message.
+ */
+class LicenseMessagesTests {
+
+    private static final int MAX_ARGUMENTS = 5;
+
+    private final PrecompiledMessageSource messageSource =
+            new PrecompiledMessageSource("messages", List.of(Locale.ENGLISH, Locale.FRENCH, Locale.of("es")));
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "en", "fr", "es"})
+    void everyMessageFormatsToItsText(String language) throws IOException {
+        Locale locale = Locale.of(language);
+        Properties bundle = bundle(language.isEmpty() ? "messages.properties" : "messages_" + language + ".properties");
+        // Each argument formats to its own placeholder, so that the text of the message is left to compare
+        Object[] arguments = IntStream.range(0, MAX_ARGUMENTS).mapToObj(index -> "{" + index + "}").toArray();
+
+        for (String code : bundle.stringPropertyNames()) {
+            String text = bundle.getProperty(code).replace("''", "'");
+
+            assertEquals(text, messageSource.getMessage(code, arguments, locale), code);
+            assertEquals(text, messageSource.getMessage(code, null, locale), code);
+        }
+    }
+
+    @Test
+    void frenchMessagesKeepTheirApostrophes() {
+        assertEquals("L'identifiant ou le nom du produit de la licence est dupliqué dans le lot.",
+                messageSource.getMessage("message.license.bulk.duplicate", null, Locale.FRENCH));
+        assertEquals("La licence n'a pas pu être insérée (code d'erreur 112).",
+                messageSource.getMessage("exception.license.bulk.insert.failed", new Object[]{"112"}, Locale.FRENCH));
+        assertEquals("La licence avec l'identifiant license-0042 et l'identifiant de l'organisation organization-0042"
+                        + " n'a pas été trouvée.",
+                messageSource.getMessage("exception.license.not.found.with.id",
+                        new Object[]{"license-0042", "organization-0042"}, Locale.FRENCH));
+    }
+
+    private static Properties bundle(String name) throws IOException {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(name).getInputStream(), StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+
+            return properties;
+        }
+    }
+}
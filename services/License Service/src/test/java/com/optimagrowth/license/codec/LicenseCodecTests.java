@@ -0,0 +1,165 @@
+package com.optimagrowth.license.codec;
+
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.model.License;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the LicenseCodec reads back what it writes, and that the documents it writes and reads, directly or
+ * through the LicenseConverters, are those of the reflective Spring Data mapping.
+ */
+class LicenseCodecTests {
+
+    private static final LicenseCodec licenseCodec = new LicenseCodec();
+    private static final MappingMongoConverter reflectiveConverter = mappingMongoConverter(new MongoCustomConversions(List.of()));
+    private static final MappingMongoConverter licenseConverter = mappingMongoConverter(new MongoCustomConversions(LicenseConverters.all()));
+
+    private static Stream<License> licenses() {
+        LocalDateTime createAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        return Stream.of(
+                // Every field set
+                withBase(License.builder()
+                        .licenseId("license-0042")
+                        .description("Yearly renewed license")
+                        .organizationId("organization-0042")
+                        .productName("Optima Growth Suite")
+                        .licenseType(LicenseType.PARTIAL)
+                        .comment("Renewed by the reseller")
+                        .build(), new ObjectId().toHexString(), createAt, createAt.plusDays(1), 3L),
+                // A document id which is not an ObjectId, kept as a string
+                withBase(License.builder()
+                        .licenseId("license-0043")
+                        .organizationId("organization-0042")
+                        .licenseType(LicenseType.FULL)
+                        .build(), "license-document-0043", createAt, null, 0L),
+                // Nothing set, as a new license before its insert
+                new License());
+    }
+
+    @ParameterizedTest
+    @MethodSource("licenses")
+    void decodeReadsBackTheEncodedLicense(License license) {
+        assertLicense(license, decode(encode(license)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("licenses")
+    void writesTheDocumentOfTheReflectiveMapping(License license) {
+        Document expected = new Document();
+        reflectiveConverter.write(license, expected);
+        Document converted = new Document();
+        licenseConverter.write(license, converted);
+
+        assertEquals(expected, converted);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(converted.keySet()));
+        assertEquals(expected.toBsonDocument(), encode(license));
+    }
+
+    @ParameterizedTest
+    @MethodSource("licenses")
+    void readsTheDocumentOfTheReflectiveMapping(License license) {
+        Document document = new Document();
+        reflectiveConverter.write(license, document);
+
+        assertLicense(reflectiveConverter.read(License.class, document), licenseConverter.read(License.class, document));
+        assertLicense(reflectiveConverter.read(License.class, document), decode(document.toBsonDocument()));
+    }
+
+    @Test
+    void idIsStoredAsObjectIdWhenValid() {
+        ObjectId id = new ObjectId();
+
+        assertEquals(new BsonObjectId(id), encode(withBase(new License(), id.toHexString(), null, null, null)).get("_id"));
+        assertEquals(new BsonString("license-document-0043"),
+                encode(withBase(new License(), "license-document-0043", null, null, null)).get("_id"));
+    }
+
+    @Test
+    void typeHintIsWrittenAndIgnoredOnRead() {
+        BsonDocument document = encode(new License());
+
+        assertEquals(new BsonDocument("_class", new BsonString(License.class.getName())), document);
+        assertLicense(new License(), decode(document.append("unknownField", new BsonString("Ignored"))));
+    }
+
+    @Test
+    void projectionLeavesTheOtherFieldsNull() {
+        License license = decode(new BsonDocument("licenseId", new BsonString("license-0042")));
+
+        assertEquals("license-0042", license.getLicenseId());
+        assertNull(license.getId());
+        assertNull(license.getOrganizationId());
+        assertNull(license.getVersion());
+    }
+
+    private static License withBase(License license, @Nullable String id, @Nullable LocalDateTime createAt,
+                                    @Nullable LocalDateTime updateAt, @Nullable Long version) {
+        license.setId(id);
+        license.setCreateAt(createAt);
+        license.setUpdateAt(updateAt);
+        license.setVersion(version);
+
+        return license;
+    }
+
+    private static BsonDocument encode(License license) {
+        BsonDocument document = new BsonDocument();
+        licenseCodec.encode(new BsonDocumentWriter(document), license, EncoderContext.builder().build());
+
+        return document;
+    }
+
+    private static License decode(BsonDocument document) {
+        return licenseCodec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static void assertLicense(License expected, License actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getLicenseId(), actual.getLicenseId());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getOrganizationId(), actual.getOrganizationId());
+        assertEquals(expected.getProductName(), actual.getProductName());
+        assertEquals(expected.getLicenseType(), actual.getLicenseType());
+        assertEquals(expected.getComment(), actual.getComment());
+        assertEquals(expected.getCreateAt(), actual.getCreateAt());
+        assertEquals(expected.getUpdateAt(), actual.getUpdateAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    private static MappingMongoConverter mappingMongoConverter(MongoCustomConversions mongoCustomConversions) {
+        MongoMappingContext mongoMappingContext = new MongoMappingContext();
+        mongoMappingContext.setSimpleTypeHolder(mongoCustomConversions.getSimpleTypeHolder());
+        mongoMappingContext.afterPropertiesSet();
+
+        MappingMongoConverter mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mongoMappingContext);
+        mappingMongoConverter.setCustomConversions(mongoCustomConversions);
+        mappingMongoConverter.afterPropertiesSet();
+
+        return mappingMongoConverter;
+    }
+}
@@ -0,0 +1,84 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.license.config.CacheConfig;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.repository.LicenseRepository;
+import com.optimagrowth.license.repository.projection.LicenseSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the evictions of the license cache by key and by document id: only the changed license is reloaded.
+ */
+class LicenseCacheTests {
+
+    private static final String ORGANIZATION_ID = "organization-0042";
+
+    private final LicenseSummary license = license("license-0042");
+    private final LicenseSummary otherLicense = license("license-0043");
+
+    private LicenseRepository licenseRepository;
+    private LicenseCacheKeys licenseCacheKeys;
+    private LicenseCache licenseCache;
+
+    @BeforeEach
+    void setUp() {
+        licenseRepository = mock(LicenseRepository.class);
+        licenseCacheKeys = new LicenseCacheKeys();
+        licenseCache = new LicenseCache(new CacheConfig().cacheManager(100, Duration.ofMinutes(5), licenseCacheKeys),
+                licenseCacheKeys, licenseRepository, new SimpleMeterRegistry());
+
+        for (LicenseSummary summary : new LicenseSummary[]{license, otherLicense}) {
+            when(licenseRepository.findSummaryByLicenseIdAndOrganizationId(summary.licenseId(), ORGANIZATION_ID))
+                    .thenReturn(Optional.of(summary));
+            licenseCache.findLicense(summary.licenseId(), ORGANIZATION_ID);
+        }
+    }
+
+    @Test
+    void evictByIdOnlyEvictsThatLicense() {
+        licenseCache.evictById(license.id());
+
+        assertEquals(Optional.of(license), licenseCache.findLicense(license.licenseId(), ORGANIZATION_ID));
+        assertEquals(Optional.of(otherLicense), licenseCache.findLicense(otherLicense.licenseId(), ORGANIZATION_ID));
+        verify(licenseRepository, times(2)).findSummaryByLicenseIdAndOrganizationId(license.licenseId(), ORGANIZATION_ID);
+        verify(licenseRepository, times(1)).findSummaryByLicenseIdAndOrganizationId(otherLicense.licenseId(), ORGANIZATION_ID);
+    }
+
+    @Test
+    void evictByIdOfAnUncachedLicenseKeepsTheCache() {
+        licenseCache.evictById(new ObjectId().toHexString());
+
+        licenseCache.findLicense(license.licenseId(), ORGANIZATION_ID);
+        licenseCache.findLicense(otherLicense.licenseId(), ORGANIZATION_ID);
+        verify(licenseRepository, times(1)).findSummaryByLicenseIdAndOrganizationId(license.licenseId(), ORGANIZATION_ID);
+        verify(licenseRepository, times(1)).findSummaryByLicenseIdAndOrganizationId(otherLicense.licenseId(), ORGANIZATION_ID);
+    }
+
+    @Test
+    void evictedLicensesAreForgottenByDocumentId() {
+        assertEquals(2, licenseCacheKeys.size());
+
+        licenseCache.evict(license.licenseId(), ORGANIZATION_ID);
+        assertEquals(1, licenseCacheKeys.size());
+
+        licenseCache.clear();
+        assertEquals(0, licenseCacheKeys.size());
+    }
+
+    private static LicenseSummary license(String licenseId) {
+        return new LicenseSummary(new ObjectId().toHexString(), licenseId, "Yearly renewed license", ORGANIZATION_ID,
+                "Optima Growth Suite " + licenseId, LicenseType.FULL, null, 0L);
+    }
+}
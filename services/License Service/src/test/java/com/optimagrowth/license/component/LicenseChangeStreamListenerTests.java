@@ -0,0 +1,128 @@
+package com.optimagrowth.license.component;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Checks how the license changes followed on the change stream are applied to the cache and the existence filters:
+ * changed licenses are evicted by their key when the pre-image is available, by their document id otherwise, and
+ * everything is reloaded when the stream is invalidated.
+ */
+class LicenseChangeStreamListenerTests {
+
+    private static final ObjectId ID = new ObjectId();
+    private static final String LICENSE_ID = "license-0042";
+    private static final String ORGANIZATION_ID = "organization-0042";
+    private static final String PRODUCT_NAME = "Optima Growth Suite";
+
+    private LicenseCache licenseCache;
+    private LicenseExistenceFilter licenseExistenceFilter;
+    private LicenseChangeStreamListener licenseChangeStreamListener;
+
+    @BeforeEach
+    void setUp() {
+        licenseCache = mock(LicenseCache.class);
+        licenseExistenceFilter = mock(LicenseExistenceFilter.class);
+        licenseChangeStreamListener =
+                new LicenseChangeStreamListener(mock(MongoTemplate.class), licenseCache, licenseExistenceFilter);
+    }
+
+    @Test
+    void insertAddsTheLicenseToTheExistenceFilters() {
+        licenseChangeStreamListener.apply(change("insert", license(LICENSE_ID, PRODUCT_NAME), null, null));
+
+        verify(licenseExistenceFilter).put(LICENSE_ID, PRODUCT_NAME);
+        verifyNoInteractions(licenseCache);
+    }
+
+    @Test
+    void replaceEvictsThePreviousLicense() {
+        licenseChangeStreamListener.apply(change("replace", license("license-0043", "Optima Growth Suite 2"),
+                license(LICENSE_ID, PRODUCT_NAME), null));
+
+        verify(licenseCache).evict(LICENSE_ID, ORGANIZATION_ID);
+        verify(licenseExistenceFilter).put("license-0043", "Optima Growth Suite 2");
+        verifyNoMoreInteractions(licenseCache);
+    }
+
+    @Test
+    void updateEvictsThePreviousLicense() {
+        BsonDocument updatedFields = new BsonDocument("licenseId", new BsonString("license-0043"));
+
+        licenseChangeStreamListener.apply(change("update", null, license(LICENSE_ID, PRODUCT_NAME),
+                new UpdateDescription(List.of(), updatedFields)));
+
+        verify(licenseCache).evict(LICENSE_ID, ORGANIZATION_ID);
+        verify(licenseExistenceFilter).put("license-0043", null);
+        verifyNoMoreInteractions(licenseCache);
+    }
+
+    @Test
+    void updateWithoutPreImageEvictsTheLicenseByDocumentId() {
+        licenseChangeStreamListener.apply(change("update", null, null,
+                new UpdateDescription(List.of(), new BsonDocument("comment", new BsonString("Renewed")))));
+
+        verify(licenseCache).evictById(ID.toHexString());
+        verifyNoMoreInteractions(licenseCache);
+    }
+
+    @Test
+    void deleteEvictsThePreviousLicense() {
+        licenseChangeStreamListener.apply(change("delete", null, license(LICENSE_ID, PRODUCT_NAME), null));
+
+        verify(licenseCache).evict(LICENSE_ID, ORGANIZATION_ID);
+        verifyNoMoreInteractions(licenseCache);
+        verifyNoInteractions(licenseExistenceFilter);
+    }
+
+    @Test
+    void deleteWithoutPreImageEvictsTheLicenseByDocumentId() {
+        licenseChangeStreamListener.apply(change("delete", null, null, null));
+
+        verify(licenseCache).evictById(ID.toHexString());
+        verifyNoMoreInteractions(licenseCache);
+    }
+
+    @Test
+    void invalidateReloadsEverything() {
+        for (String operationType : List.of("drop", "rename", "dropDatabase", "invalidate")) {
+            setUp();
+
+            licenseChangeStreamListener.apply(change(operationType, null, null, null));
+
+            verify(licenseCache).clear();
+            verify(licenseExistenceFilter).rebuild();
+        }
+    }
+
+    private static Document license(String licenseId, String productName) {
+        return new Document("_id", ID)
+                .append("licenseId", licenseId)
+                .append("organizationId", ORGANIZATION_ID)
+                .append("productName", productName);
+    }
+
+    private static ChangeStreamDocument<Document> change(String operationType, @Nullable Document fullDocument,
+                                                         @Nullable Document fullDocumentBeforeChange,
+                                                         @Nullable UpdateDescription updateDescription) {
+        return new ChangeStreamDocument<>(operationType, new BsonDocument("_data", new BsonString("8263")), null, null,
+                fullDocument, fullDocumentBeforeChange, new BsonDocument("_id", new BsonObjectId(ID)), null,
+                updateDescription, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.optimagrowth.license.component;
+
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.LicenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the existence filters over a stubbed scan of the license keys: unknown keys are definitely absent once
+ * built, keys written during a rebuild reach the rebuilt filters, and a failed rebuild keeps the previous ones.
+ */
+class LicenseExistenceFilterTests {
+
+    private LicenseRepository licenseRepository;
+    private LicenseExistenceFilter licenseExistenceFilter;
+
+    @BeforeEach
+    void setUp() {
+        licenseRepository = mock(LicenseRepository.class);
+        licenseExistenceFilter = new LicenseExistenceFilter(licenseRepository);
+        ReflectionTestUtils.setField(licenseExistenceFilter, "enabled", true);
+        ReflectionTestUtils.setField(licenseExistenceFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(licenseExistenceFilter, "falsePositiveProbability", 0.001);
+    }
+
+    @Test
+    void everythingMightExistUntilTheFirstBuild() {
+        licenseExistenceFilter.put("license-0001", "Product 0001");
+
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0042"));
+        assertTrue(licenseExistenceFilter.mightContainProductName("Product 0042"));
+    }
+
+    @Test
+    void buildLoadsTheKnownKeys() {
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.of(keys("license-0001", "Product 0001")));
+
+        licenseExistenceFilter.build();
+
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0001"));
+        assertTrue(licenseExistenceFilter.mightContainProductName("Product 0001"));
+        assertFalse(licenseExistenceFilter.mightContainLicenseId("license-0042"));
+        assertFalse(licenseExistenceFilter.mightContainProductName("Product 0042"));
+    }
+
+    @Test
+    void keysPutAfterTheBuildAreKnown() {
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.empty());
+        licenseExistenceFilter.build();
+
+        licenseExistenceFilter.put("license-0042", null);
+
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0042"));
+        assertFalse(licenseExistenceFilter.mightContainProductName("Product 0042"));
+    }
+
+    @Test
+    void keysPutDuringARebuildReachTheRebuiltFilters() throws InterruptedException {
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.of(keys("license-0001", "Product 0001")));
+        licenseExistenceFilter.build();
+
+        AtomicBoolean previousFiltersServed = new AtomicBoolean();
+        Thread writer = new Thread(() -> licenseExistenceFilter.put("license-0042", "Product 0042"));
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.of(keys("license-0002", "Product 0002"))
+                .peek(license -> {
+                    // A license created by another request while the collection is being scanned
+                    writer.start();
+                    join(writer);
+                    previousFiltersServed.set(licenseExistenceFilter.mightContainLicenseId("license-0001")
+                            && licenseExistenceFilter.mightContainLicenseId("license-0042"));
+                }));
+
+        licenseExistenceFilter.rebuild();
+
+        assertTrue(previousFiltersServed.get());
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0002"));
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0042"));
+        assertTrue(licenseExistenceFilter.mightContainProductName("Product 0042"));
+        // Deleted since the previous build
+        assertFalse(licenseExistenceFilter.mightContainLicenseId("license-0001"));
+    }
+
+    @Test
+    void failedRebuildKeepsThePreviousFilters() {
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.of(keys("license-0001", "Product 0001")));
+        licenseExistenceFilter.build();
+
+        when(licenseRepository.streamAllLicenseKeysBy()).thenReturn(Stream.of(keys("license-0002", "Product 0002"))
+                .peek(license -> {
+                    throw new DataAccessResourceFailureException("Server unreachable");
+                }));
+        licenseExistenceFilter.rebuild();
+
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0001"));
+        assertFalse(licenseExistenceFilter.mightContainLicenseId("license-0002"));
+    }
+
+    @Test
+    void disabledFiltersAreNeverBuilt() {
+        ReflectionTestUtils.setField(licenseExistenceFilter, "enabled", false);
+
+        licenseExistenceFilter.build();
+
+        verifyNoInteractions(licenseRepository);
+        assertTrue(licenseExistenceFilter.mightContainLicenseId("license-0042"));
+    }
+
+    private static License keys(String licenseId, String productName) {
+        return License.builder()
+                .licenseId(licenseId)
+                .productName(productName)
+                .build();
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.optimagrowth.license.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatch;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.repository.LicenseChanges;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the compilation of JSON Patches into $set/$unset changes: the operations supported on every patchable
+ * field, the patches left to the full document round trip and the values rejected.
+ */
+class LicensePatchCompilerTests {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ValidatorFactory validatorFactory;
+    private static LicensePatchCompiler licensePatchCompiler;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        licensePatchCompiler = new LicensePatchCompiler(validatorFactory.getValidator(), objectMapper);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Every patchable field, with a valid JSON value and the value it is set to.
+     */
+    private static Stream<Arguments> patchableFields() {
+        return Stream.of(
+                Arguments.of("description", "\"Yearly renewed license\"", "Yearly renewed license"),
+                Arguments.of("licenseType", "\"PARTIAL\"", LicenseType.PARTIAL),
+                Arguments.of("comment", "\"Renewed by the reseller\"", "Renewed by the reseller"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("patchableFields")
+    void addSetsTheField(String field, String value, Object expected) throws Exception {
+        LicenseChanges licenseChanges = compile("[{\"op\":\"add\",\"path\":\"/" + field + "\",\"value\":" + value + "}]")
+                .orElseThrow();
+
+        assertEquals(Map.of(field, expected), licenseChanges.set());
+        assertEquals(Set.of(), licenseChanges.unset());
+    }
+
+    @ParameterizedTest
+    @MethodSource("patchableFields")
+    void replaceSetsTheField(String field, String value, Object expected) throws Exception {
+        LicenseChanges licenseChanges = compile("[{\"op\":\"replace\",\"path\":\"/" + field + "\",\"value\":" + value + "}]")
+                .orElseThrow();
+
+        assertEquals(Map.of(field, expected), licenseChanges.set());
+        assertEquals(Set.of(), licenseChanges.unset());
+    }
+
+    @Test
+    void removeUnsetsTheField() throws Exception {
+        LicenseChanges licenseChanges = compile("[{\"op\":\"remove\",\"path\":\"/comment\"}]").orElseThrow();
+
+        assertEquals(Map.of(), licenseChanges.set());
+        assertEquals(Set.of("comment"), licenseChanges.unset());
+    }
+
+    @Test
+    void replaceWithNullUnsetsTheField() throws Exception {
+        LicenseChanges licenseChanges = compile("[{\"op\":\"replace\",\"path\":\"/comment\",\"value\":null}]")
+                .orElseThrow();
+
+        assertEquals(Map.of(), licenseChanges.set());
+        assertEquals(Set.of("comment"), licenseChanges.unset());
+    }
+
+    @Test
+    void laterOperationsOverrideEarlierOnes() throws Exception {
+        LicenseChanges removed = compile("""
+                [{"op":"replace","path":"/comment","value":"First"},{"op":"remove","path":"/comment"}]""")
+                .orElseThrow();
+        LicenseChanges added = compile("""
+                [{"op":"remove","path":"/comment"},{"op":"add","path":"/comment","value":"Second"}]""")
+                .orElseThrow();
+
+        assertEquals(new LicenseChanges(Map.of(), Set.of("comment")), removed);
+        assertEquals(new LicenseChanges(Map.of("comment", "Second"), Set.of()), added);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"op\":\"move\",\"from\":\"/comment\",\"path\":\"/description\"}]",
+            "[{\"op\":\"copy\",\"from\":\"/comment\",\"path\":\"/description\"}]",
+            "[{\"op\":\"test\",\"path\":\"/comment\",\"value\":\"Renewed\"}]",
+            "[{\"op\":\"replace\",\"path\":\"/comment\",\"value\":\"Renewed\"},{\"op\":\"test\",\"path\":\"/comment\",\"value\":\"Renewed\"}]"})
+    void unsupportedOperationIsNotCompiled(String jsonPatch) throws Exception {
+        assertEquals(Optional.empty(), compile(jsonPatch));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/id", "/licenseId", "/productName", "/organizationId", "/version", "/createdAt", "/comment/0", "/", ""})
+    void unsupportedPathIsNotCompiled(String path) throws Exception {
+        assertEquals(Optional.empty(), compile("[{\"op\":\"replace\",\"path\":\"" + path + "\",\"value\":\"Renewed\"}]"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"op\":\"replace\",\"path\":\"/description\",\"value\":\"ab\"}]",
+            "[{\"op\":\"replace\",\"path\":\"/description\",\"value\":\"   \"}]",
+            "[{\"op\":\"add\",\"path\":\"/comment\",\"value\":\"A comment well over the fifty characters allowed for a license comment\"}]",
+            "[{\"op\":\"remove\",\"path\":\"/description\"}]",
+            "[{\"op\":\"replace\",\"path\":\"/licenseType\",\"value\":null}]"})
+    void invalidValueIsRejected(String jsonPatch) {
+        ConstraintViolationException exception = assertThrows(ConstraintViolationException.class, () -> compile(jsonPatch));
+
+        assertFalse(exception.getConstraintViolations().isEmpty());
+    }
+
+    @Test
+    void valueOfTheWrongTypeIsRejected() {
+        assertThrows(JsonProcessingException.class,
+                () -> compile("[{\"op\":\"replace\",\"path\":\"/licenseType\",\"value\":\"UNLIMITED\"}]"));
+    }
+
+    private static Optional<LicenseChanges> compile(String jsonPatch) throws JsonProcessingException {
+        return licensePatchCompiler.compile(objectMapper.readValue(jsonPatch, JsonPatch.class));
+    }
+}
@@ -0,0 +1,233 @@
+package com.optimagrowth.license.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.optimagrowth.license.component.LicenseIndexInitializer;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.model.License;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with explain the query plans of the license repository, on the indexes created by the
+ * LicenseIndexInitializer: no query scans the license collection and the existence checks are covered queries,
+ * answered from an index without examining any document.
+ * Needs a MongoDB server, given by the LICENSE_EXPLAIN_MONGODB_URI environment variable; a throwaway database is
+ * created on it and dropped afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "LICENSE_EXPLAIN_MONGODB_URI", matches = ".+")
+class LicenseRepositoryExplainTests {
+
+    private static final String DATABASE = "license_explain_tests";
+    private static final String LICENSE_ID = "explained-license";
+    private static final String ORGANIZATION_ID = "explained-organization";
+    private static final String PRODUCT_NAME = "Explained product";
+    private static final String UNKNOWN_LICENSE_ID = "unknown-license";
+
+    // The commands running a query, those explain accepts
+    private static final Set<String> QUERY_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "delete", "update", "findAndModify");
+
+    // Added to the commands by the driver, not accepted or not meaningful within explain
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+            "$readPreference", "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    /**
+     * A call of every query method of the license repository, keyed by method name.
+     */
+    private static final Map<String, Consumer<LicenseRepository>> QUERIES = Map.ofEntries(
+            entry("existsByLicenseId", repository -> repository.existsByLicenseId(LICENSE_ID)),
+            entry("existsByProductName", repository -> repository.existsByProductName(PRODUCT_NAME)),
+            entry("existsByLicenseIdAndOrganizationId",
+                    repository -> repository.existsByLicenseIdAndOrganizationId(LICENSE_ID, ORGANIZATION_ID)),
+            entry("findByLicenseIdAndOrganizationId",
+                    repository -> repository.findByLicenseIdAndOrganizationId(LICENSE_ID, ORGANIZATION_ID)),
+            entry("findSummaryByLicenseIdAndOrganizationId",
+                    repository -> repository.findSummaryByLicenseIdAndOrganizationId(LICENSE_ID, ORGANIZATION_ID)),
+            entry("deleteByLicenseIdAndOrganizationId",
+                    repository -> repository.deleteByLicenseIdAndOrganizationId(UNKNOWN_LICENSE_ID, ORGANIZATION_ID)),
+            entry("findByOrganizationIdOrderByIdAsc",
+                    repository -> repository.findByOrganizationIdOrderByIdAsc(ORGANIZATION_ID, Limit.of(10))),
+            entry("findByOrganizationIdAndIdGreaterThanOrderByIdAsc",
+                    repository -> repository.findByOrganizationIdAndIdGreaterThanOrderByIdAsc(
+                            ORGANIZATION_ID, "000000000000000000000000", Limit.of(10))),
+            entry("streamAllByOrganizationId",
+                    repository -> consume(repository.streamAllByOrganizationId(ORGANIZATION_ID))),
+            entry("streamRawByOrganizationId",
+                    repository -> consume(repository.streamRawByOrganizationId(ORGANIZATION_ID))),
+            entry("findLicenseIdsIn", repository -> repository.findLicenseIdsIn(List.of(LICENSE_ID))),
+            entry("findProductNamesIn", repository -> repository.findProductNamesIn(List.of(PRODUCT_NAME))),
+            entry("applyChanges", repository -> repository.applyChanges(UNKNOWN_LICENSE_ID, ORGANIZATION_ID, null,
+                    new LicenseChanges(Map.of("comment", "Explained"), Set.of()))),
+            entry("deleteVersion", repository -> repository.deleteVersion(UNKNOWN_LICENSE_ID, ORGANIZATION_ID,
+                    new LicenseVersion(new ObjectId().toHexString(), 0L))));
+
+    /**
+     * The query methods reading the whole collection by design: the load of the existence filters and the one-off
+     * initialization of the missing versions at startup.
+     */
+    private static final Set<String> COLLECTION_SCANS = Set.of("streamAllLicenseKeysBy", "initializeMissingVersions");
+
+    /**
+     * The methods writing the given licenses, without query.
+     */
+    private static final Set<String> WRITES = Set.of("insertUnordered");
+
+    private static final List<RawBsonDocument> queryCommands = new CopyOnWriteArrayList<>();
+
+    private static MongoClient mongoClient;
+    private static LicenseRepositoryCustomImpl licenseRepositoryFragment;
+    private static LicenseRepository licenseRepository;
+    private static LicenseIndexInitializer licenseIndexInitializer;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getenv("LICENSE_EXPLAIN_MONGODB_URI")))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if (QUERY_COMMANDS.contains(event.getCommandName())) {
+                            queryCommands.add(new RawBsonDocument(event.getCommand(), new BsonDocumentCodec()));
+                        }
+                    }
+                })
+                .build());
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        licenseRepositoryFragment = new LicenseRepositoryCustomImpl(mongoTemplate);
+        licenseRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(LicenseRepository.class, RepositoryFragments.just(licenseRepositoryFragment));
+
+        licenseIndexInitializer = new LicenseIndexInitializer(mongoTemplate, Optional.empty());
+        licenseIndexInitializer.ensureIndexes(License.class);
+
+        mongoTemplate.insert(License.builder()
+                .licenseId(LICENSE_ID)
+                .description("Explained license")
+                .organizationId(ORGANIZATION_ID)
+                .productName(PRODUCT_NAME)
+                .licenseType(LicenseType.FULL)
+                .build());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.getDatabase(DATABASE).drop();
+        mongoClient.close();
+    }
+
+    @Test
+    void noQueryScansTheLicenseCollection() {
+        Set<String> explainedMethods = new HashSet<>(QUERIES.keySet());
+        explainedMethods.addAll(COLLECTION_SCANS);
+        explainedMethods.addAll(WRITES);
+        assertEquals(queryMethods(), explainedMethods, "Every query method of the license repository must be explained");
+
+        QUERIES.forEach((method, query) -> {
+            queryCommands.clear();
+            query.accept(licenseRepository);
+            assertFalse(queryCommands.isEmpty(), () -> method + " sent no query");
+
+            for (RawBsonDocument command : queryCommands) {
+                List<String> stages = LicenseQueryPlans.stages(explain(command));
+                assertFalse(stages.contains("COLLSCAN"), () -> method + " scans the license collection: " + command);
+            }
+        });
+    }
+
+    @Test
+    void noStartupQueryPlanScansTheLicenseCollection() {
+        assertEquals(List.of(), licenseIndexInitializer.findCollectionScans());
+    }
+
+    @Test
+    void existsByLicenseIdIsCovered() {
+        assertTrue(licenseRepositoryFragment.existsByLicenseId(LICENSE_ID));
+        assertFalse(licenseRepositoryFragment.existsByLicenseId(UNKNOWN_LICENSE_ID));
+
+        assertCovered(licenseRepositoryFragment
+                .existenceQuery(Filters.eq("licenseId", LICENSE_ID), "licenseId")
+                .explain(ExplainVerbosity.EXECUTION_STATS));
+    }
+
+    @Test
+    void existsByProductNameIsCovered() {
+        assertTrue(licenseRepositoryFragment.existsByProductName(PRODUCT_NAME));
+        assertFalse(licenseRepositoryFragment.existsByProductName("Unknown product"));
+
+        assertCovered(licenseRepositoryFragment
+                .existenceQuery(Filters.eq("productName", PRODUCT_NAME), "productName")
+                .explain(ExplainVerbosity.EXECUTION_STATS));
+    }
+
+    private static Set<String> queryMethods() {
+        return Stream.of(LicenseRepository.class, LicenseRepositoryCustom.class)
+                .flatMap(repositoryType -> Arrays.stream(repositoryType.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static Document explain(RawBsonDocument command) {
+        BsonDocument explainedCommand = new BsonDocument();
+        command.forEach((name, value) -> {
+            if (!DRIVER_FIELDS.contains(name)) explainedCommand.put(name, value);
+        });
+
+        return mongoClient.getDatabase(DATABASE).runCommand(new BsonDocument("explain", explainedCommand)
+                .append("verbosity", new BsonString("queryPlanner")));
+    }
+
+    private static void assertCovered(Document explain) {
+        List<String> stages = LicenseQueryPlans.stages(explain);
+        Document executionStats = explain.get("executionStats", Document.class);
+
+        assertTrue(stages.stream().anyMatch(stage -> stage.contains("IXSCAN")), () -> "No index scan in " + stages);
+        assertFalse(stages.contains("FETCH"), () -> "Documents fetched by " + stages);
+        assertEquals(1, executionStats.getInteger("nReturned"));
+        assertEquals(0, executionStats.getInteger("totalDocsExamined"));
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(element -> {
+            });
+        }
+    }
+}
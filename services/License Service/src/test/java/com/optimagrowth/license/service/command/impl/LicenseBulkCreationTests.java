@@ -0,0 +1,235 @@
+package com.optimagrowth.license.service.command.impl;
+
+import com.optimagrowth.commonlibrary.core.component.Translator;
+import com.optimagrowth.license.component.LicenseExistenceFilter;
+import com.optimagrowth.license.define.LicenseType;
+import com.optimagrowth.license.dto.command.request.CreateLicenseRequest;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseItemResponse;
+import com.optimagrowth.license.dto.command.response.BulkCreateLicenseResponse;
+import com.optimagrowth.license.mapper.LicenseMapper;
+import com.optimagrowth.license.mapper.LicenseMapperImpl;
+import com.optimagrowth.license.model.License;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how a batch of licenses is validated and reported: every request is validated on its own, duplicates
+ * within the batch are rejected, and the licenses found in the repository or failing the insert are reported at
+ * the index of their request.
+ */
+@SpringJUnitConfig(LicenseBulkCreationTests.TranslatorConfig.class)
+class LicenseBulkCreationTests {
+
+    private static final String ORGANIZATION_ID = "organization-0042";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int WRITE_CONFLICT = 112;
+
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final LicenseMapper licenseMapper = new LicenseMapperImpl();
+
+    @Configuration
+    @Import(Translator.class)
+    static class TranslatorConfig {
+
+        @Bean
+        MessageSource messageSource() {
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasename("messages");
+            messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+            return messageSource;
+        }
+    }
+
+    @Test
+    void invalidRequestsDoNotPreventTheOthers() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(Arrays.asList(
+                request("license-0001", "Product 0001"),
+                null,
+                request("", "Product 0002"),
+                request("license-0003", "Product 0003")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(Set.of(), Set.of(), ORGANIZATION_ID, licenseMapper);
+        assertEquals(List.of("license-0001", "license-0003"), licensesToCreate.stream().map(License::getLicenseId).toList());
+
+        BulkCreateLicenseResponse response = create(licenseBulkCreation, licensesToCreate, Map.of());
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+        assertCreated(response.items().get(0), 0, "license-0001");
+        assertFailed(response.items().get(1), 1, null, translate("message.license.bulk.item.null"));
+        assertFalse(response.items().get(2).success());
+        assertFalse(response.items().get(2).errors().isEmpty());
+        assertCreated(response.items().get(3), 3, "license-0003");
+    }
+
+    @Test
+    void duplicatesWithinTheBatchAreRejected() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001"),
+                request("license-0001", "Product 0002"),
+                request("license-0003", "Product 0001"),
+                request("license-0004", "Product 0004")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(Set.of(), Set.of(), ORGANIZATION_ID, licenseMapper);
+        BulkCreateLicenseResponse response = create(licenseBulkCreation, licensesToCreate, Map.of());
+
+        assertEquals(2, response.created());
+        assertCreated(response.items().get(0), 0, "license-0001");
+        assertFailed(response.items().get(1), 1, "license-0001", translate("message.license.bulk.duplicate"));
+        assertFailed(response.items().get(2), 2, "license-0003", translate("message.license.bulk.duplicate"));
+        assertCreated(response.items().get(3), 3, "license-0004");
+    }
+
+    @Test
+    void invalidRequestDoesNotClaimItsKeys() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                new CreateLicenseRequest("license-0001", "", "Product 0001", LicenseType.FULL, null),
+                request("license-0001", "Product 0001")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(Set.of(), Set.of(), ORGANIZATION_ID, licenseMapper);
+        BulkCreateLicenseResponse response = create(licenseBulkCreation, licensesToCreate, Map.of());
+
+        assertFalse(response.items().get(0).success());
+        assertCreated(response.items().get(1), 1, "license-0001");
+    }
+
+    @Test
+    void onlyTheKeysWhichMightExistAreLookedUp() {
+        LicenseExistenceFilter licenseExistenceFilter = mock(LicenseExistenceFilter.class);
+        when(licenseExistenceFilter.mightContainLicenseId("license-0002")).thenReturn(true);
+        when(licenseExistenceFilter.mightContainProductName("Product 0003")).thenReturn(true);
+
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001"),
+                request("license-0002", "Product 0002"),
+                request("license-0003", "Product 0003"),
+                // Invalid, not looked up
+                request("license-0004", "")), validator);
+
+        assertEquals(Set.of("license-0002"), licenseBulkCreation.licenseIdsMightExist(licenseExistenceFilter));
+        assertEquals(Set.of("Product 0003"), licenseBulkCreation.productNamesMightExist(licenseExistenceFilter));
+    }
+
+    @Test
+    void existingLicensesAreReportedAtTheirRequestIndex() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001"),
+                request("license-0002", "Product 0002"),
+                request("license-0003", "Product 0003"),
+                request("license-0004", "Product 0004")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(
+                Set.of("license-0002", "license-0003"), Set.of("Product 0003"), ORGANIZATION_ID, licenseMapper);
+        assertEquals(List.of("license-0001", "license-0004"), licensesToCreate.stream().map(License::getLicenseId).toList());
+
+        BulkCreateLicenseResponse response = create(licenseBulkCreation, licensesToCreate, Map.of());
+        assertCreated(response.items().get(0), 0, "license-0001");
+        assertFailed(response.items().get(1), 1, "license-0002", translate("default.license.id.already.exists"));
+        assertFailed(response.items().get(2), 2, "license-0003", translate("default.license.id.already.exists"),
+                translate("default.license.product.name.already.exists"));
+        assertCreated(response.items().get(3), 3, "license-0004");
+    }
+
+    @Test
+    void licensesToCreateAreReadyToInsert() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001"),
+                request("license-0002", "Product 0002")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(Set.of(), Set.of(), ORGANIZATION_ID, licenseMapper);
+
+        for (License license : licensesToCreate) {
+            assertNotNull(license.getId());
+            assertEquals(0L, license.getVersion());
+            assertEquals(ORGANIZATION_ID, license.getOrganizationId());
+        }
+        assertEquals(2, licensesToCreate.stream().map(License::getId).distinct().count());
+    }
+
+    @Test
+    void insertErrorsAreReportedAtTheirRequestIndex() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001"),
+                request("", "Product 0002"),
+                request("license-0003", "Product 0003"),
+                request("license-0004", "Product 0004"),
+                request("license-0005", "Product 0005")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(
+                Set.of("license-0003"), Set.of(), ORGANIZATION_ID, licenseMapper);
+        // Positions in the insert, not request indexes: license-0004 and license-0005
+        List<License> created = licenseBulkCreation.created(licensesToCreate, Map.of(1, DUPLICATE_KEY, 2, WRITE_CONFLICT));
+        BulkCreateLicenseResponse response = licenseBulkCreation.response(licenseMapper);
+
+        assertEquals(List.of("license-0001"), created.stream().map(License::getLicenseId).toList());
+        assertEquals(1, response.created());
+        assertEquals(4, response.failed());
+        assertCreated(response.items().get(0), 0, "license-0001");
+        assertFailed(response.items().get(3), 3, "license-0004", translate("exception.license.already.exists"));
+        assertFailed(response.items().get(4), 4, "license-0005", translate("exception.license.bulk.insert.failed", WRITE_CONFLICT));
+    }
+
+    @Test
+    void nothingCreated() {
+        LicenseBulkCreation licenseBulkCreation = new LicenseBulkCreation(List.of(
+                request("license-0001", "Product 0001")), validator);
+
+        List<License> licensesToCreate = licenseBulkCreation.licensesToCreate(
+                Set.of("license-0001"), Set.of(), ORGANIZATION_ID, licenseMapper);
+        BulkCreateLicenseResponse response = create(licenseBulkCreation, licensesToCreate, Map.of());
+
+        assertTrue(licensesToCreate.isEmpty());
+        assertEquals(0, response.created());
+        assertEquals(1, response.failed());
+    }
+
+    private static BulkCreateLicenseResponse create(LicenseBulkCreation licenseBulkCreation, List<License> licensesToCreate,
+                                                    Map<Integer, Integer> insertErrors) {
+        licenseBulkCreation.created(licensesToCreate, insertErrors);
+
+        return licenseBulkCreation.response(licenseMapper);
+    }
+
+    private static CreateLicenseRequest request(String licenseId, String productName) {
+        return new CreateLicenseRequest(licenseId, "Yearly renewed license", productName, LicenseType.FULL, null);
+    }
+
+    private static void assertCreated(BulkCreateLicenseItemResponse item, int index, String licenseId) {
+        assertEquals(index, item.index());
+        assertEquals(licenseId, item.licenseId());
+        assertTrue(item.success());
+        assertNotNull(item.license());
+        assertEquals(licenseId, item.license().licenseId());
+        assertEquals(List.of(), item.errors());
+    }
+
+    private static void assertFailed(BulkCreateLicenseItemResponse item, int index, String licenseId, String... errors) {
+        assertEquals(index, item.index());
+        assertEquals(licenseId, item.licenseId());
+        assertFalse(item.success());
+        assertNull(item.license());
+        assertEquals(List.of(errors), item.errors());
+    }
+}
@@ -0,0 +1,66 @@
+package com.optimagrowth.license.utils;
+
+import com.optimagrowth.commonlibrary.core.component.Translator;
+import com.optimagrowth.license.exception.runtine.InvalidCursorException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the keyset cursors of the license pages: a cursor decodes back to the document id it was issued for, and
+ * a cursor that does not hold a document id is rejected with the translated message.
+ */
+@SpringJUnitConfig(LicenseCursorsTests.TranslatorConfig.class)
+class LicenseCursorsTests {
+
+    @Configuration
+    @Import(Translator.class)
+    static class TranslatorConfig {
+
+        @Bean
+        MessageSource messageSource() {
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasename("messages");
+            messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+            return messageSource;
+        }
+    }
+
+    @Test
+    void cursorDecodesToTheDocumentId() {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String id = new ObjectId().toHexString();
+
+            assertEquals(id, LicenseCursors.decode(LicenseCursors.encode(id)));
+        }
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = LicenseCursors.encode(new ObjectId().toHexString());
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), () -> cursor + " is not url safe");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "!!!!", "c29tZS1saWNlbnNl", "NjVhMWIyYzNkNGU1ZjZhN2I4YzlkMGUx="})
+    void cursorWithoutDocumentIdIsRejected(String cursor) {
+        InvalidCursorException exception = assertThrows(InvalidCursorException.class, () -> LicenseCursors.decode(cursor));
+
+        assertEquals("The pagination cursor " + cursor + " is invalid.", exception.getMessage());
+    }
+}
@@ -0,0 +1,109 @@
+package com.optimagrowth.license.utils;
+
+import com.optimagrowth.commonlibrary.core.component.Translator;
+import com.optimagrowth.license.exception.runtine.LicensePreconditionFailedException;
+import com.optimagrowth.license.repository.projection.LicenseVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static com.optimagrowth.commonlibrary.utils.utils.Utils.translate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the entity tags of the licenses: If-None-Match is compared weakly and accepts any tag of a list,
+ * while If-Match must hold a single strong license tag, or "*" for an unconditional write.
+ */
+@SpringJUnitConfig(LicenseETagsTests.TranslatorConfig.class)
+class LicenseETagsTests {
+
+    private static final String ID = "65a1b2c3d4e5f6a7b8c9d0e1";
+    private static final String LICENSE_ID = "license-0042";
+    private static final String E_TAG = LicenseETags.of(ID, 3L);
+
+    @Configuration
+    @Import(Translator.class)
+    static class TranslatorConfig {
+
+        @Bean
+        MessageSource messageSource() {
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasename("messages");
+            messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+            return messageSource;
+        }
+    }
+
+    @Test
+    void tagIsTheQuotedIdAndVersion() {
+        assertEquals("\"" + ID + ".3\"", E_TAG);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"65a1b2c3d4e5f6a7b8c9d0e1.3\"", "W/\"65a1b2c3d4e5f6a7b8c9d0e1.3\"", "*",
+            "\"65a1b2c3d4e5f6a7b8c9d0e1.2\", \"65a1b2c3d4e5f6a7b8c9d0e1.3\""})
+    void ifNoneMatchMatches(String ifNoneMatch) {
+        assertTrue(LicenseETags.matches(ifNoneMatch, E_TAG));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"\"65a1b2c3d4e5f6a7b8c9d0e1.2\"", "\"65a1b2c3d4e5f6a7b8c9d0e2.3\"",
+            "W/\"65a1b2c3d4e5f6a7b8c9d0e1.4\"", "65a1b2c3d4e5f6a7b8c9d0e1.3", "\"65a1b2c3d4e5f6a7b8c9d0e1.3", ","})
+    void ifNoneMatchDoesNotMatch(String ifNoneMatch) {
+        assertFalse(LicenseETags.matches(ifNoneMatch, E_TAG));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "*"})
+    void ifMatchWithoutTagIsUnconditional(String ifMatch) throws LicensePreconditionFailedException {
+        assertEquals(Optional.empty(), LicenseETags.parseIfMatch(ifMatch, LICENSE_ID));
+    }
+
+    @Test
+    void ifMatchHoldsTheExpectedVersion() throws LicensePreconditionFailedException {
+        assertEquals(Optional.of(new LicenseVersion(ID, 3L)), LicenseETags.parseIfMatch(E_TAG, LICENSE_ID));
+        // The version follows the last separator
+        assertEquals(Optional.of(new LicenseVersion("license.document", 0L)),
+                LicenseETags.parseIfMatch("\"license.document.0\"", LICENSE_ID));
+    }
+
+    @Test
+    void ifMatchOfAnotherLicenseIsKeptForTheConditionalWrite() throws LicensePreconditionFailedException {
+        // The id does not match the license, so that the write finds no document at that id and version
+        assertEquals(Optional.of(new LicenseVersion("65a1b2c3d4e5f6a7b8c9d0e2", 3L)),
+                LicenseETags.parseIfMatch("\"65a1b2c3d4e5f6a7b8c9d0e2.3\"", LICENSE_ID));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // Weak
+            "W/\"65a1b2c3d4e5f6a7b8c9d0e1.3\"",
+            // Malformed
+            "65a1b2c3d4e5f6a7b8c9d0e1.3", "\"65a1b2c3d4e5f6a7b8c9d0e1.3", ",",
+            // Not a license tag
+            "\"65a1b2c3d4e5f6a7b8c9d0e1\"", "\"65a1b2c3d4e5f6a7b8c9d0e1.three\"", "\".3\"", "\"65a1b2c3d4e5f6a7b8c9d0e1.\"",
+            // Several tags
+            "\"65a1b2c3d4e5f6a7b8c9d0e1.3\", \"65a1b2c3d4e5f6a7b8c9d0e1.4\"", "\"65a1b2c3d4e5f6a7b8c9d0e1.3\", *"})
+    void ifMatchWithoutASingleStrongLicenseTagFails(String ifMatch) {
+        LicensePreconditionFailedException exception = assertThrows(LicensePreconditionFailedException.class,
+                () -> LicenseETags.parseIfMatch(ifMatch, LICENSE_ID));
+
+        assertEquals(translate("exception.license.precondition.failed", LICENSE_ID), exception.getMessage());
+    }
+}
@@ -0,0 +1,145 @@
+package com.optimagrowth.license.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks that concurrent calls for the same key run once and share the result or the exception of that run,
+ * and that nothing is kept once the call completes.
+ */
+class SingleFlightTests {
+
+    private static final String KEY = "explained-organization";
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("licenses", meterRegistry);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void callerInFlightSharesTheResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            return "licenses";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        Future<String> second = executorService.submit(() -> singleFlight.execute(KEY, () -> fail("Call run twice")));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertEquals("licenses", first.get(10, TimeUnit.SECONDS));
+        assertSame(first.get(), second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, calls("executed"));
+    }
+
+    @Test
+    void callerInFlightSharesTheException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("Server unreachable");
+
+        Future<String> first = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        Future<String> second = executorService.submit(() -> singleFlight.execute(KEY, () -> fail("Call run twice")));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void completedCallIsRunAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute(KEY, () -> String.valueOf(runs.incrementAndGet())));
+        assertEquals("2", singleFlight.execute(KEY, () -> String.valueOf(runs.incrementAndGet())));
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> {
+            throw new IllegalStateException("Server unreachable");
+        }));
+        assertEquals("4", singleFlight.execute(KEY, () -> String.valueOf(runs.addAndGet(2))));
+
+        assertEquals(4, calls("executed"));
+        assertEquals(0, calls("coalesced"));
+    }
+
+    @Test
+    void callsForOtherKeysAreNotCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            return "licenses";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertEquals("other licenses", singleFlight.execute("other-organization", () -> "other licenses"));
+        release.countDown();
+
+        assertEquals("licenses", first.get(10, TimeUnit.SECONDS));
+        assertEquals(2, calls("executed"));
+        assertEquals(0, calls("coalesced"));
+    }
+
+    // The coalesced caller is counted before it waits for the call in flight
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calls("coalesced") < expected) {
+            if (System.nanoTime() > deadline) fail("No call coalesced");
+            Thread.sleep(1);
+        }
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("single.flight.calls").tag("name", "licenses").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("Not released");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
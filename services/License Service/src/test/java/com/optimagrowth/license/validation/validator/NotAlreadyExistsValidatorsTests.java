@@ -0,0 +1,68 @@
+package com.optimagrowth.license.validation.validator;
+
+import com.optimagrowth.license.component.LicenseExistenceFilter;
+import com.optimagrowth.license.repository.LicenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the uniqueness validators only query the repository when the existence filters cannot rule the
+ * license id or product name out.
+ */
+class NotAlreadyExistsValidatorsTests {
+
+    private LicenseRepository licenseRepository;
+    private LicenseExistenceFilter licenseExistenceFilter;
+    private LicenseIdNotAlreadyExistsValidator licenseIdValidator;
+    private ProductNameNotAlreadyExistsValidator productNameValidator;
+
+    @BeforeEach
+    void setUp() {
+        licenseRepository = mock(LicenseRepository.class);
+        licenseExistenceFilter = mock(LicenseExistenceFilter.class);
+        licenseIdValidator = new LicenseIdNotAlreadyExistsValidator(licenseRepository, licenseExistenceFilter);
+        productNameValidator = new ProductNameNotAlreadyExistsValidator(licenseRepository, licenseExistenceFilter);
+    }
+
+    @Test
+    void definiteMissSkipsTheRepository() {
+        assertTrue(licenseIdValidator.isValid("license-0042", null));
+        assertTrue(productNameValidator.isValid("Product 0042", null));
+
+        verifyNoInteractions(licenseRepository);
+    }
+
+    @Test
+    void possibleHitIsConfirmedByTheRepository() {
+        when(licenseExistenceFilter.mightContainLicenseId("license-0042")).thenReturn(true);
+        when(licenseExistenceFilter.mightContainProductName("Product 0042")).thenReturn(true);
+        when(licenseRepository.existsByLicenseId("license-0042")).thenReturn(true);
+
+        assertFalse(licenseIdValidator.isValid("license-0042", null));
+        // A false positive of the filter
+        assertTrue(productNameValidator.isValid("Product 0042", null));
+
+        verify(licenseRepository).existsByLicenseId("license-0042");
+        verify(licenseRepository).existsByProductName("Product 0042");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = " ")
+    void blankValuesAreLeftToTheOtherConstraints(String value) {
+        assertTrue(licenseIdValidator.isValid(value, null));
+        assertTrue(productNameValidator.isValid(value, null));
+
+        verifyNoInteractions(licenseRepository, licenseExistenceFilter);
+    }
+}